@@ -0,0 +1,123 @@
+package RealEstatePackage;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+// PropertyAnalyzer's bounded result cache. Each result is stored with the PropertyManager version it was computed
+// at and served only while the version is unchanged, so any add, remove, price or status change invalidates it.
+// Entries are kept in access order and the least recently used are evicted once there are more than maxEntries
+// or they hold more than maxWeight elements in total; a result heavier than maxWeight is not cached at all.
+// Results are computed outside the lock, so concurrent misses on one key may each compute it. When the version
+// moved since the previous call on most of the last WINDOW calls, stored results would be invalidated before
+// anyone reads them, so nothing is stored until a later window sees the version settle.
+final class AnalysisCache {
+    private static final int WINDOW = 64;
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final LongSupplier version;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long hits;
+    private long misses;
+    private long invalidations;
+    private long evictions;
+    // Version seen by the previous call; calls of the current window, how many of them saw a new version, and the
+    // last full window's verdict
+    private long lastVersion = Long.MIN_VALUE;
+    private int windowCalls;
+    private int windowChanges;
+    private boolean churning;
+
+    AnalysisCache(int maxEntries, long maxWeight, LongSupplier version) {
+        if (maxEntries < 0 || maxWeight < 0) {
+            throw new IllegalArgumentException("Cache bounds cannot be negative: " + maxEntries + ", " + maxWeight);
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.version = version;
+    }
+
+    // The cached result of query with these parameters, or a freshly computed one; weigher counts its elements
+    <T> T get(String query, List<?> parameters, Supplier<T> compute, ToLongFunction<? super T> weigher) {
+        Key key = new Key(query, parameters);
+        // Read before computing: a write that lands meanwhile bumps the version, so the result is never reused
+        // past it even if it already reflects the write
+        long current = version.getAsLong();
+        boolean store;
+        synchronized (this) {
+            if (current != lastVersion) {
+                windowChanges++;
+                lastVersion = current;
+            }
+            if (++windowCalls == WINDOW) {
+                churning = windowChanges > WINDOW / 2;
+                windowCalls = 0;
+                windowChanges = 0;
+            }
+            store = !churning;
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.version == current) {
+                    hits++;
+                    @SuppressWarnings("unchecked")
+                    T result = (T) entry.result;
+                    return result;
+                }
+                invalidations++;
+                remove(key);
+            }
+            misses++;
+        }
+        T result = compute.get();
+        long resultWeight = Math.max(1, weigher.applyAsLong(result));
+        if (store && maxEntries > 0 && resultWeight <= maxWeight) {
+            synchronized (this) {
+                Entry previous = entries.put(key, new Entry(current, result, resultWeight));
+                if (previous != null) {
+                    weight -= previous.weight;
+                }
+                weight += resultWeight;
+                evict();
+            }
+        }
+        return result;
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    synchronized AnalyzerCacheStatistics statistics() {
+        return new AnalyzerCacheStatistics(hits, misses, invalidations, evictions, entries.size(), weight,
+                maxEntries, maxWeight);
+    }
+
+    private void remove(Key key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            weight -= entry.weight;
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || weight > maxWeight) && eldest.hasNext()) {
+            weight -= eldest.next().getValue().weight;
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private record Key(String query, List<?> parameters) {
+    }
+
+    private record Entry(long version, Object result, long weight) {
+    }
+}
@@ -0,0 +1,18 @@
+package RealEstatePackage;
+
+// Counters of a PropertyAnalyzer's result cache. A miss is any call that computed its result, whether the query
+// was never cached, was evicted, or was cached at an older inventory version (also counted as an invalidation).
+public record AnalyzerCacheStatistics(long hits, long misses, long invalidations, long evictions, int entries,
+                                      long weight, int maxEntries, long maxWeight) {
+    public double hitRate() {
+        long calls = hits + misses;
+        return calls == 0 ? 0 : (double) hits / calls;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d hits, %d misses (%.1f%% hit rate), %d invalidated, %d evicted, %d/%d entries, "
+                        + "%d/%d elements", hits, misses, hitRate() * 100, invalidations, evictions, entries, maxEntries,
+                weight, maxWeight);
+    }
+}
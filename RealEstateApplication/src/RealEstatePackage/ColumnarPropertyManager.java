@@ -0,0 +1,19 @@
+package RealEstatePackage;
+
+// PropertyManager that keeps listing data in primitive columns (PropertyColumns) instead of a PropertyDetails
+// record, LocalDateTime and address String per listing. Each managed Property becomes a flyweight view over its
+// row: price and status updates write straight into the columns without allocating, while reads of the address
+// and added date decode a fresh String or LocalDateTime. A removed listing takes its data back out and stays
+// usable on its own. The columns also serve as the address index, the price and address orders are packed
+// arrays of views rather than maps (PackedPropertyOrder), and the aggregates keep no ordered price sets, so the
+// type and status buckets are not an access path for queries. Like PropertyManager, this class is not thread-safe.
+public class ColumnarPropertyManager extends PropertyManager {
+    public ColumnarPropertyManager() {
+        this(new PropertyColumns());
+    }
+
+    private ColumnarPropertyManager(PropertyColumns columns) {
+        super(columns.listings(), PackedPropertyOrder.byPrice(), new PropertyAggregates(columns),
+                new PropertyBitmapIndex(PackedPropertyOrder.byAddress(), 1));
+    }
+}
@@ -0,0 +1,98 @@
+package RealEstatePackage;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ConcurrentPropertyManager's listings by normalized address. A ConcurrentHashMap alone iterates in hash order, so
+// each listing also gets a sequence number when it is put and sits in a skip list by that number: lookups go to
+// the hash map, while values() and entrySet() iterate in insertion order like PropertyManager's LinkedHashMap.
+// Iteration is weakly consistent. Put and iterator removal are not supported.
+final class ConcurrentListings extends AbstractMap<String, Property> {
+    private record Sequenced(long sequence, Property property) {
+    }
+
+    private final ConcurrentHashMap<String, Sequenced> byAddress = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Property> inOrder = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final Set<Entry<String, Property>> entries = new AbstractSet<>() {
+        @Override
+        public Iterator<Entry<String, Property>> iterator() {
+            Iterator<Property> listings = inOrder.values().iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return listings.hasNext();
+                }
+
+                @Override
+                public Entry<String, Property> next() {
+                    Property property = listings.next();
+                    return new SimpleImmutableEntry<>(PropertyManager.normalizeAddress(property.getFullAddress()), property);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return ConcurrentListings.this.size();
+        }
+    };
+
+    @Override
+    public Property get(Object key) {
+        Sequenced listing = byAddress.get(key);
+        return listing == null ? null : listing.property();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return byAddress.containsKey(key);
+    }
+
+    @Override
+    public Property putIfAbsent(String key, Property property) {
+        Sequenced added = new Sequenced(nextSequence.incrementAndGet(), property);
+        Sequenced existing = byAddress.putIfAbsent(key, added);
+        if (existing != null) {
+            return existing.property();
+        }
+        inOrder.put(added.sequence(), property);
+        return null;
+    }
+
+    @Override
+    public Property remove(Object key) {
+        Sequenced removed = byAddress.remove(key);
+        if (removed == null) {
+            return null;
+        }
+        inOrder.remove(removed.sequence());
+        return removed.property();
+    }
+
+    @Override
+    public int size() {
+        return byAddress.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return byAddress.isEmpty();
+    }
+
+    @Override
+    public Collection<Property> values() {
+        return inOrder.values();
+    }
+
+    @Override
+    public Set<Entry<String, Property>> entrySet() {
+        return entries;
+    }
+}
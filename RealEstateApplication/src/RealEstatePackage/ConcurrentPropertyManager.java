@@ -0,0 +1,130 @@
+package RealEstatePackage;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Thread-safe PropertyManager. Mutations lock one stripe chosen by address hash, so writes to different
+// addresses run in parallel and writes to the same address are linearizable; no lock is shared by every writer.
+// Listings iterate in insertion order (ConcurrentListings). Snapshots, and so query(), hold the set of listings at
+// one point in time: the copy is retried until no add or remove ran while it was taken, and only under a constant
+// stream of them does it hold writers off, for the copy alone. Prices and statuses are not copied; they read
+// through live, so price and status changes made during a query may or may not be seen. Searches, pages and other index reads take no lock
+// and never hold writers up: the indexes are concurrent, so such a read is weakly consistent and may reflect
+// mutations made while it runs.
+public class ConcurrentPropertyManager extends PropertyManager {
+    private static final int OPTIMISTIC_COPIES = 4;
+
+    private final ReentrantLock[] stripes;
+    // Adds and removes begun and finished, each under its stripe; equal counts mean none is in progress
+    private final AtomicLong membershipStarted = new AtomicLong();
+    private final AtomicLong membershipFinished = new AtomicLong();
+
+    public ConcurrentPropertyManager() {
+        this(Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    public ConcurrentPropertyManager(int concurrencyLevel) {
+        super(new ConcurrentListings(), PropertyOrder.of(new ConcurrentSkipListMap<>()),
+                new PropertyAggregates(ConcurrentSkipListSet::new), new PropertyBitmapIndex(
+                        PropertyOrder.of(new ConcurrentSkipListMap<>()), Math.clamp(concurrencyLevel, 1, 64)));
+        if (concurrencyLevel < 1) {
+            throw new IllegalArgumentException("Concurrency level must be at least 1: " + concurrencyLevel);
+        }
+        int stripeCount = Integer.highestOneBit(concurrencyLevel - 1) << 1;
+        this.stripes = new ReentrantLock[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public PropertyResult tryAddProperty(Property property) {
+        if (property == null || property.getFullAddress() == null) {
+            return super.tryAddProperty(property); // Rejected without touching the indexes
+        }
+        ReentrantLock stripe = stripeFor(property.getFullAddress());
+        stripe.lock();
+        membershipStarted.incrementAndGet();
+        try {
+            return super.tryAddProperty(property);
+        } finally {
+            membershipFinished.incrementAndGet();
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public PropertyResult tryUpdatePropertyPrice(String address, double newPrice) {
+        ReentrantLock stripe = stripeFor(address);
+        stripe.lock();
+        try {
+            return super.tryUpdatePropertyPrice(address, newPrice);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public PropertyResult tryUpdatePropertyStatus(String address, PropertyStatus newStatus) {
+        ReentrantLock stripe = stripeFor(address);
+        stripe.lock();
+        try {
+            return super.tryUpdatePropertyStatus(address, newStatus);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public PropertyResult tryRemoveProperty(String address) {
+        ReentrantLock stripe = stripeFor(address);
+        stripe.lock();
+        membershipStarted.incrementAndGet();
+        try {
+            return super.tryRemoveProperty(address);
+        } finally {
+            membershipFinished.incrementAndGet();
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    List<Property> copyListings() {
+        for (int attempt = 0; attempt < OPTIMISTIC_COPIES; attempt++) {
+            // Finished read first: if started still equals it afterwards, nothing was in progress at that point
+            long finished = membershipFinished.get();
+            long started = membershipStarted.get();
+            if (started == finished) {
+                List<Property> copy = super.copyListings();
+                if (membershipStarted.get() == started) {
+                    return copy;
+                }
+            }
+            Thread.onSpinWait();
+        }
+        // Stripes are taken in index order, and writers hold only one, so this cannot deadlock with them
+        int locked = 0;
+        try {
+            for (ReentrantLock stripe : stripes) {
+                stripe.lock();
+                locked++;
+            }
+            return super.copyListings();
+        } finally {
+            for (int i = 0; i < locked; i++) {
+                stripes[i].unlock();
+            }
+        }
+    }
+
+    private ReentrantLock stripeFor(String address) {
+        if (address == null) {
+            return stripes[0]; // The superclass rejects null addresses; any stripe will do
+        }
+        int hash = normalizeAddress(address).hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,30 @@
+package RealEstatePackage;
+
+import java.io.PrintStream;
+
+// Writes events at or above the threshold straight to a PrintStream on the calling thread
+public final class ConsoleEventSink implements PropertyEventSink {
+    private final LogLevel threshold;
+    private final PrintStream out;
+
+    public ConsoleEventSink(LogLevel threshold) {
+        this(threshold, System.out);
+    }
+
+    public ConsoleEventSink(LogLevel threshold, PrintStream out) {
+        this.threshold = threshold;
+        this.out = out;
+    }
+
+    @Override
+    public boolean isEnabled(LogLevel level) {
+        return level.compareTo(threshold) >= 0;
+    }
+
+    @Override
+    public void publish(LogLevel level, String message) {
+        if (isEnabled(level)) {
+            out.println(message);
+        }
+    }
+}
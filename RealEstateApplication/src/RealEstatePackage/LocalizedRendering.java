@@ -0,0 +1,125 @@
+package RealEstatePackage;
+
+import java.text.NumberFormat;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Everything Property needs to render a listing in one locale, looked up once: the "messages" bundle's labels,
+// the currency format and the added-date formatter. Contexts are shared process-wide through a small cache that
+// evicts the oldest locale once MAX_LOCALES are held. NumberFormat is not thread-safe, so each thread formats
+// prices with its own clone. The formats need no bundle: for a locale without one, prices and dates still
+// format and only the methods using labels throw MissingResourceException.
+final class LocalizedRendering {
+    private static final int MAX_LOCALES = 32;
+    private static final Map<Locale, LocalizedRendering> CACHE = new ConcurrentHashMap<>();
+    // Insertion order of CACHE's keys, guarded by itself
+    private static final ArrayDeque<Locale> CACHED = new ArrayDeque<>();
+
+    private final Locale locale;
+    // Null when the bundle or one of its keys is missing, which missingLabels then describes
+    private final Labels labels;
+    private final MissingResourceException missingLabels;
+    private final ThreadLocal<NumberFormat> currencyFormat;
+    private final DateTimeFormatter addedDateFormat;
+
+    private record Labels(String street, Map<PropertyStatus, String> statuses, String header, String address,
+                          String price, String status, String added) {
+        static Labels load(Locale locale) {
+            ResourceBundle messages = ResourceBundle.getBundle("messages", locale);
+            Map<PropertyStatus, String> statuses = new EnumMap<>(PropertyStatus.class);
+            for (PropertyStatus status : PropertyStatus.values()) {
+                statuses.put(status, messages.getString("status." + status.name().toLowerCase()));
+            }
+            return new Labels(messages.getString("address.street"), statuses, messages.getString("display.header"),
+                    messages.getString("display.address"), messages.getString("display.price"),
+                    messages.getString("display.status"), messages.getString("display.added"));
+        }
+    }
+
+    private LocalizedRendering(Locale locale) {
+        this.locale = locale;
+        Labels loaded = null;
+        MissingResourceException missing = null;
+        try {
+            loaded = Labels.load(locale);
+        } catch (MissingResourceException e) {
+            missing = e;
+        }
+        this.labels = loaded;
+        this.missingLabels = missing;
+        NumberFormat prototype = NumberFormat.getCurrencyInstance(locale);
+        this.currencyFormat = ThreadLocal.withInitial(() -> (NumberFormat) prototype.clone());
+        this.addedDateFormat = DateTimeFormatter.ofPattern("dd MMMM yyyy HH:mm", locale);
+    }
+
+    static LocalizedRendering of(Locale locale) {
+        LocalizedRendering rendering = CACHE.get(locale);
+        if (rendering != null) {
+            return rendering;
+        }
+        rendering = new LocalizedRendering(locale);
+        synchronized (CACHED) {
+            LocalizedRendering raced = CACHE.putIfAbsent(locale, rendering);
+            if (raced != null) {
+                return raced;
+            }
+            CACHED.addLast(locale);
+            if (CACHED.size() > MAX_LOCALES) {
+                CACHE.remove(CACHED.removeFirst());
+            }
+        }
+        return rendering;
+    }
+
+    String header() {
+        return labels().header() + " " + locale;
+    }
+
+    String address(Property property) {
+        return property.getFullAddress() + " " + labels().street();
+    }
+
+    String price(Property property) {
+        return currencyFormat.get().format(property.getPrice());
+    }
+
+    String status(Property property) {
+        return labels().statuses().get(property.getStatus());
+    }
+
+    String addedDate(Property property) {
+        return addedDateFormat.format(property.getAddedDate());
+    }
+
+    // One line of PropertyAnalyzer.displayPropertiesInLocale()
+    String line(Property property) {
+        StringBuilder line = new StringBuilder(128);
+        appendLine(line, property);
+        return line.toString();
+    }
+
+    // Same as line(), appended to a buffer the caller reuses
+    void appendLine(StringBuilder line, Property property) {
+        Labels labels = labels();
+        line.append(labels.address()).append(": ").append(property.getFullAddress()).append(' ').append(labels.street())
+                .append(", ").append(labels.price()).append(": ").append(price(property))
+                .append(", ").append(labels.status()).append(": ").append(labels.statuses().get(property.getStatus()))
+                .append(", ").append(labels.added()).append(": ");
+        addedDateFormat.formatTo(property.getAddedDate(), line);
+    }
+
+    // Fails like ResourceBundle.getBundle() and getString() do, with a fresh exception each time
+    private Labels labels() {
+        if (labels == null) {
+            throw new MissingResourceException(missingLabels.getMessage(), missingLabels.getClassName(),
+                    missingLabels.getKey());
+        }
+        return labels;
+    }
+}
@@ -0,0 +1,5 @@
+package RealEstatePackage;
+
+public enum LogLevel {
+    DEBUG, INFO, WARN, ERROR
+}
@@ -8,10 +8,20 @@ import java.util.function.Supplier;
 
 public class Main {
     public static void main(String[] args) {
+        // The demo echoes every event; library code publishes nothing unless a sink is installed
+        PropertyEvents.setSink(new ConsoleEventSink(LogLevel.DEBUG));
         PropertyManagement.printWelcomeMessage();
 
         PropertyManager manager = new PropertyManager();
 
+        // -Drealestate.metrics=true records operation latencies, publishes them over JMX and prints them at the end
+        boolean metrics = Boolean.getBoolean("realestate.metrics");
+        if (metrics) {
+            PropertyMetrics.setEnabled(true);
+            PropertyMetrics.registerInventory("inventory", manager);
+            PropertyMetrics.registerMBean();
+        }
+
         ResidentialProperty res1 = new ResidentialProperty("123 Main St", 250000, 3);
         CommercialProperty com1 = new CommercialProperty("456 Market Rd", 500000, "Retail");
         ResidentialProperty res2 = new ResidentialProperty("789 Pine St", 350000, 4);
@@ -276,5 +286,24 @@ public class Main {
                 System.out.println("Error due to exception: " + e.getMessage());
             }
         }
+        if (metrics) {
+            System.out.println("\nOperation metrics:");
+            System.out.print(PropertyMetrics.dump());
+        }
+
+        // -Drealestate.http.port=8080 then serves the demo inventory over HTTP until the process is stopped
+        Integer httpPort = Integer.getInteger("realestate.http.port");
+        if (httpPort != null) {
+            try {
+                PropertyHttpService service = PropertyHttpService.start(manager, httpPort);
+                Runtime.getRuntime().addShutdownHook(new Thread(service::close));
+                System.out.println("\nServing properties on http://localhost:" + service.getPort() + "/properties");
+                Thread.currentThread().join();
+            } catch (IOException e) {
+                System.out.println("Error at method main(): Cannot start HTTP service: " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,215 @@
+package RealEstatePackage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+// Read-only inventory served straight from a memory-mapped PropertySnapshotFile. Opening only maps the
+// sections and decodes the business type dictionary, so startup cost does not grow with the number of
+// listings and nothing is kept on the heap per listing; the OS pages columns in as lookups touch them.
+// Every lookup decodes a fresh, detached Property: changing it does not change the file, and it is not
+// attached to any manager, so it can still be added to a PropertyManager.
+public final class MappedPropertyCatalog implements AutoCloseable {
+    private static final PropertyType[] TYPES = PropertyType.values();
+    private static final PropertyStatus[] STATUSES = PropertyStatus.values();
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int rowCount;
+    private final ByteBuffer types;
+    private final ByteBuffer statuses;
+    private final ByteBuffer prices;
+    private final ByteBuffer addedDates;
+    private final ByteBuffer bedrooms;
+    private final ByteBuffer businessTypes;
+    private final ByteBuffer addressOffsets;
+    private final ByteBuffer addressBytes;
+    private final ByteBuffer addressHashes;
+    private final ByteBuffer addressTable;
+    private final ByteBuffer priceOrder;
+    private final int tableMask;
+    private final List<String> dictionary;
+
+    private MappedPropertyCatalog(Path path, FileChannel channel) throws IOException {
+        this.path = path;
+        this.channel = channel;
+        long fileSize = channel.size();
+        PropertySnapshotFile.Header header = PropertySnapshotFile.readHeader(
+                map(0, Math.min(fileSize, PropertySnapshotFile.HEADER_SIZE)), path);
+        if (header.sections().length < PropertySnapshotFile.SECTION_COUNT) {
+            throw new IOException("Snapshot has no lookup sections (version 1); load it with PropertySnapshotFile.read() "
+                    + "and write it again to upgrade: " + path);
+        }
+        if (header.rowCount() > Integer.MAX_VALUE) {
+            throw new IOException("Too many rows to map: " + path);
+        }
+        this.rowCount = (int) header.rowCount();
+
+        // Sections are written back to back, so each one ends where the next begins
+        ByteBuffer[] mapped = new ByteBuffer[PropertySnapshotFile.SECTION_COUNT];
+        long[] sections = header.sections();
+        for (int i = 0; i < sections.length; i++) {
+            long end = i + 1 < sections.length ? sections[i + 1] : fileSize;
+            mapped[i] = map(sections[i], end - sections[i]);
+        }
+        this.types = mapped[PropertySnapshotFile.TYPE];
+        this.statuses = mapped[PropertySnapshotFile.STATUS];
+        this.prices = mapped[PropertySnapshotFile.PRICE];
+        this.addedDates = mapped[PropertySnapshotFile.ADDED];
+        this.bedrooms = mapped[PropertySnapshotFile.BEDROOMS];
+        this.businessTypes = mapped[PropertySnapshotFile.BUSINESS_TYPE];
+        this.addressOffsets = mapped[PropertySnapshotFile.ADDRESS_OFFSETS];
+        this.addressBytes = mapped[PropertySnapshotFile.ADDRESS_BYTES];
+        this.addressHashes = mapped[PropertySnapshotFile.ADDRESS_HASH];
+        this.addressTable = mapped[PropertySnapshotFile.ADDRESS_TABLE].slice(Integer.BYTES,
+                mapped[PropertySnapshotFile.ADDRESS_TABLE].capacity() - Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        this.priceOrder = mapped[PropertySnapshotFile.PRICE_ORDER];
+        this.tableMask = mapped[PropertySnapshotFile.ADDRESS_TABLE].getInt(0) - 1;
+        this.dictionary = readDictionary(mapped[PropertySnapshotFile.DICTIONARY]);
+    }
+
+    public static MappedPropertyCatalog open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new MappedPropertyCatalog(path, channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int size() {
+        return rowCount;
+    }
+
+    public Property getProperty(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range for " + rowCount + " listings");
+        }
+        return decode(row);
+    }
+
+    // Same address matching as PropertyManager.findProperty
+    public Optional<Property> findProperty(String address) {
+        if (address == null || address.isEmpty()) {
+            return Optional.empty();
+        }
+        String normalized = PropertyManager.normalizeAddress(address);
+        int hash = normalized.hashCode();
+        for (int slot = PropertySnapshotFile.tableSlot(hash, tableMask); ; slot = (slot + 1) & tableMask) {
+            int entry = addressTable.getInt(slot * Integer.BYTES);
+            if (entry == 0) {
+                return Optional.empty();
+            }
+            int row = entry - 1;
+            if (addressHashes.getInt(row * Integer.BYTES) == hash
+                    && PropertyManager.normalizeAddress(address(row)).equals(normalized)) {
+                return Optional.of(decode(row));
+            }
+        }
+    }
+
+    // Same bounds and ordering rules as PropertyManager.findPropertiesInPriceRange, except that listings
+    // with equal prices come back in file order rather than by address
+    public List<Property> findPropertiesInPriceRange(double minPrice, double maxPrice) {
+        List<Property> matches = new ArrayList<>();
+        if (minPrice < 0 || maxPrice < 0 || minPrice > maxPrice) {
+            return matches;
+        }
+        for (int i = firstAtOrAbove(minPrice); i < rowCount; i++) {
+            int row = priceOrder.getInt(i * Integer.BYTES);
+            if (!(price(row) <= maxPrice)) {
+                break;
+            }
+            matches.add(decode(row));
+        }
+        return matches;
+    }
+
+    // Mapped buffers are released by the garbage collector once unreachable; closing only releases the file handle
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return "MappedPropertyCatalog[" + path + ", " + rowCount + " listings]";
+    }
+
+    // Binary search over the price order for the first position whose price is not below minPrice
+    private int firstAtOrAbove(double minPrice) {
+        int low = 0;
+        int high = rowCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Double.compare(price(priceOrder.getInt(mid * Integer.BYTES)), minPrice + 0.0) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private double price(int row) {
+        return prices.getDouble(row * Double.BYTES);
+    }
+
+    private String address(int row) {
+        long start = addressOffsets.getLong(row * Long.BYTES);
+        long end = addressOffsets.getLong((row + 1) * Long.BYTES);
+        byte[] bytes = new byte[(int) (end - start)];
+        addressBytes.get((int) start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private Property decode(int row) {
+        PropertyType type = TYPES[types.get(row)];
+        PropertyStatus status = STATUSES[statuses.get(row)];
+        String address = address(row);
+        double price = price(row);
+        LocalDateTime addedDate = PropertySnapshotFile.fromEpochNanos(addedDates.getLong(row * Long.BYTES));
+        // The price was validated when the snapshot was written, so a lookup publishes no validation event
+        Property property;
+        if (type == PropertyType.RESIDENTIAL) {
+            property = new ResidentialProperty(address, price, bedrooms.getInt(row * Integer.BYTES), addedDate, true);
+        } else {
+            int businessType = businessTypes.getInt(row * Integer.BYTES);
+            property = new CommercialProperty(address, price, businessType < 0 ? null : dictionary.get(businessType),
+                    addedDate, true);
+        }
+        if (status != PropertyStatus.AVAILABLE) {
+            property.updateStatus(status);
+        }
+        return property;
+    }
+
+    // A single MappedByteBuffer is limited to 2 GB, which bounds each column rather than the whole file
+    private ByteBuffer map(long offset, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot section larger than 2 GB cannot be mapped: " + path);
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static List<String> readDictionary(ByteBuffer section) {
+        ByteBuffer in = section.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int size = in.getInt();
+        List<String> dictionary = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            byte[] bytes = new byte[in.getInt()];
+            in.get(bytes);
+            dictionary.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return List.copyOf(dictionary);
+    }
+}
@@ -0,0 +1,253 @@
+package RealEstatePackage;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+// PropertyOrder over plain arrays of listings for ColumnarPropertyManager: about 5 bytes per listing, where a
+// TreeMap costs a 40-byte entry plus the key object. Listings sit in sorted blocks of at most BLOCK_SIZE; a put
+// or remove finds the block and the position in it by binary search and moves at most one block's references.
+// There are no stored keys: entries are compared with a key through the listing's current values, so a listing
+// must be removed before its key changes and put back after, and an iterated entry makes its key on demand.
+// Not thread-safe.
+final class PackedPropertyOrder<K> implements PropertyOrder<K> {
+    private static final int BLOCK_SIZE = 512;
+
+    // Compares a listing's current key with the given one, like compareTo
+    interface Comparison<K> {
+        int compare(Property property, K key);
+    }
+
+    private final Comparison<K> comparison;
+    private final Function<Property, K> keyOf;
+    private Property[][] blocks = new Property[16][];
+    private int[] sizes = new int[16];
+    private int blockCount;
+
+    private PackedPropertyOrder(Comparison<K> comparison, Function<Property, K> keyOf) {
+        this.comparison = comparison;
+        this.keyOf = keyOf;
+    }
+
+    static PackedPropertyOrder<PriceKey> byPrice() {
+        return new PackedPropertyOrder<>((property, key) -> {
+            int byPrice = Double.compare(property.getPrice() + 0.0, key.price());
+            return byPrice != 0 ? byPrice : compareAddress(property, key.address());
+        }, property -> new PriceKey(property.getPrice(), PropertyManager.normalizeAddress(property.getFullAddress())));
+    }
+
+    static PackedPropertyOrder<String> byAddress() {
+        return new PackedPropertyOrder<>(PackedPropertyOrder::compareAddress,
+                property -> PropertyManager.normalizeAddress(property.getFullAddress()));
+    }
+
+    // Listings in columns compare their address where it lies instead of decoding it
+    private static int compareAddress(Property property, String key) {
+        PropertyColumns columns = property.columns();
+        return columns != null ? columns.compareKey(property.row(), key)
+                : PropertyManager.normalizeAddress(property.getFullAddress()).compareTo(key);
+    }
+
+    @Override
+    public void put(K key, Property property) {
+        if (blockCount == 0) {
+            blocks[0] = new Property[BLOCK_SIZE];
+            blocks[0][0] = property;
+            sizes[0] = 1;
+            blockCount = 1;
+            return;
+        }
+        int block = Math.min(blockAtOrAfter(key, false), blockCount - 1);
+        int index = indexAtOrAfter(block, key, false);
+        if (index < sizes[block] && comparison.compare(blocks[block][index], key) == 0) {
+            blocks[block][index] = property;
+            return;
+        }
+        if (sizes[block] == BLOCK_SIZE) {
+            split(block);
+            if (index > BLOCK_SIZE / 2) {
+                index -= BLOCK_SIZE / 2;
+                block++;
+            }
+        }
+        Property[] entries = blocks[block];
+        System.arraycopy(entries, index, entries, index + 1, sizes[block] - index);
+        entries[index] = property;
+        sizes[block]++;
+    }
+
+    @Override
+    public void remove(K key) {
+        int block = blockAtOrAfter(key, false);
+        if (block == blockCount) {
+            return;
+        }
+        int index = indexAtOrAfter(block, key, false);
+        Property[] entries = blocks[block];
+        if (comparison.compare(entries[index], key) != 0) {
+            return;
+        }
+        int size = --sizes[block];
+        System.arraycopy(entries, index + 1, entries, index, size - index);
+        entries[size] = null;
+        // Merge a block that has run low into a neighbour it fits in, so blocks stay reasonably full; the searches
+        // read each block's last listing, so an empty one always goes
+        if (size == 0) {
+            removeBlock(block);
+        } else if (size < BLOCK_SIZE / 4 && blockCount > 1) {
+            int left = block + 1 < blockCount ? block : block - 1;
+            if (sizes[left] + sizes[left + 1] <= BLOCK_SIZE) {
+                System.arraycopy(blocks[left + 1], 0, blocks[left], sizes[left], sizes[left + 1]);
+                sizes[left] += sizes[left + 1];
+                removeBlock(left + 1);
+            }
+        }
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, Property>> entries(K low, boolean lowInclusive, K high, boolean highInclusive,
+                                                    boolean descending) {
+        long start = low == null ? position(0, 0) : position(low, !lowInclusive);
+        long end = high == null ? position(blockCount, 0) : position(high, highInclusive);
+        if (start >= end) {
+            return new Cursor(0, 0, false);
+        }
+        return descending ? new Cursor(end, start, true) : new Cursor(start, end, false);
+    }
+
+    // First block whose last listing is at or after the key (strictly after if after is set); blockCount if none
+    private int blockAtOrAfter(K key, boolean after) {
+        int low = 0;
+        int high = blockCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (isAtOrAfter(blocks[middle][sizes[middle] - 1], key, after)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private int indexAtOrAfter(int block, K key, boolean after) {
+        Property[] entries = blocks[block];
+        int low = 0;
+        int high = sizes[block];
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (isAtOrAfter(entries[middle], key, after)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private boolean isAtOrAfter(Property property, K key, boolean after) {
+        int order = comparison.compare(property, key);
+        return after ? order > 0 : order >= 0;
+    }
+
+    // Block and index of the first listing at or after the key, packed into a long so positions compare in order
+    private long position(K key, boolean after) {
+        int block = blockAtOrAfter(key, after);
+        return block == blockCount ? position(blockCount, 0) : position(block, indexAtOrAfter(block, key, after));
+    }
+
+    private static long position(int block, int index) {
+        return (long) block << 32 | index;
+    }
+
+    private void split(int block) {
+        if (blockCount == blocks.length) {
+            blocks = Arrays.copyOf(blocks, blockCount * 2);
+            sizes = Arrays.copyOf(sizes, blockCount * 2);
+        }
+        System.arraycopy(blocks, block + 1, blocks, block + 2, blockCount - block - 1);
+        System.arraycopy(sizes, block + 1, sizes, block + 2, blockCount - block - 1);
+        Property[] upper = new Property[BLOCK_SIZE];
+        System.arraycopy(blocks[block], BLOCK_SIZE / 2, upper, 0, BLOCK_SIZE / 2);
+        Arrays.fill(blocks[block], BLOCK_SIZE / 2, BLOCK_SIZE, null);
+        blocks[block + 1] = upper;
+        sizes[block + 1] = BLOCK_SIZE / 2;
+        sizes[block] = BLOCK_SIZE / 2;
+        blockCount++;
+    }
+
+    private void removeBlock(int block) {
+        System.arraycopy(blocks, block + 1, blocks, block, blockCount - block - 1);
+        System.arraycopy(sizes, block + 1, sizes, block, blockCount - block - 1);
+        blockCount--;
+        blocks[blockCount] = null;
+        sizes[blockCount] = 0;
+    }
+
+    // Walks the positions from one position to another, exclusive of the second going up and of the first going down
+    private final class Cursor implements Iterator<Map.Entry<K, Property>> {
+        private int block;
+        private int index;
+        private final long stop;
+        private final boolean descending;
+
+        private Cursor(long from, long stop, boolean descending) {
+            this.block = (int) (from >>> 32);
+            this.index = (int) from;
+            this.stop = stop;
+            this.descending = descending;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position(block, index) != stop;
+        }
+
+        @Override
+        public Map.Entry<K, Property> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Property property;
+            if (descending) {
+                if (index == 0) {
+                    block--;
+                    index = sizes[block];
+                }
+                property = blocks[block][--index];
+            } else {
+                property = blocks[block][index++];
+                if (index == sizes[block]) {
+                    block++;
+                    index = 0;
+                }
+            }
+            return new Entry(property);
+        }
+    }
+
+    private final class Entry implements Map.Entry<K, Property> {
+        private final Property property;
+
+        private Entry(Property property) {
+            this.property = property;
+        }
+
+        @Override
+        public K getKey() {
+            return keyOf.apply(property);
+        }
+
+        @Override
+        public Property getValue() {
+            return property;
+        }
+
+        @Override
+        public Property setValue(Property value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
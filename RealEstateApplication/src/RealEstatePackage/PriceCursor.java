@@ -0,0 +1,20 @@
+package RealEstatePackage;
+
+// Position in price order (price, then normalized address, like the price index) for paging through listings;
+// the next page starts right after it, so pages neither skip nor repeat listings as others are added or removed
+public record PriceCursor(double price, String address) {
+    public PriceCursor {
+        if (address == null) {
+            throw new IllegalArgumentException("Cursor address cannot be null.");
+        }
+        address = PropertyManager.normalizeAddress(address);
+    }
+
+    public static PriceCursor of(Property property) {
+        return new PriceCursor(property.getPrice(), property.getFullAddress());
+    }
+
+    PriceKey key() {
+        return new PriceKey(price, address);
+    }
+}
@@ -0,0 +1,232 @@
+package RealEstatePackage;
+
+import java.util.Arrays;
+
+// Append-only price history of one listing, delta-encoded into a byte array. The first point is kept in fields;
+// each later one is a varint of the milliseconds since the previous point, then a varint of the zig-zagged change
+// in cents shifted left once, or the single byte 1 followed by the raw double when a price is not whole cents.
+// A typical repricing takes 6-8 bytes. Every CHECKPOINT_INTERVAL points the decoder state is saved, so a lookup
+// by time binary-searches the checkpoints and decodes at most that many points. Once MAX_POINTS are held the
+// older half is dropped, which bounds a listing's history at a few tens of kilobytes however often it is
+// repriced. Mutations come from the listing's writer, reads from anyone, so the methods lock the history.
+final class PriceHistory {
+    static final int MAX_POINTS = 4096;
+    private static final int CHECKPOINT_INTERVAL = 64;
+    private static final int RAW_PRICE = 1;
+    private static final int[] NO_OFFSETS = new int[0];
+    private static final long[] NO_MILLIS = new long[0];
+    private static final double[] NO_PRICES = new double[0];
+
+    private long firstMillis;
+    private double firstPrice;
+    private long lastMillis;
+    private double lastPrice;
+    private byte[] data = new byte[16];
+    private int length;
+    // Points held, including the first
+    private int points;
+    // Points ever recorded, including dropped ones
+    private long recorded;
+    // Decoder state after point (i + 1) * CHECKPOINT_INTERVAL
+    private int[] checkpointOffsets = NO_OFFSETS;
+    private long[] checkpointMillis = NO_MILLIS;
+    private double[] checkpointPrices = NO_PRICES;
+
+    PriceHistory(long millis, double price) {
+        firstMillis = millis;
+        firstPrice = price;
+        lastMillis = millis;
+        lastPrice = price;
+        points = 1;
+        recorded = 1;
+    }
+
+    // Times must not go backwards; a change timed before the previous one is recorded at the previous one's time
+    synchronized void append(long millis, double price) {
+        if (points == MAX_POINTS) {
+            dropOlderHalf();
+        }
+        add(Math.max(millis, lastMillis), price);
+        recorded++;
+    }
+
+    // NaN before the first held point
+    synchronized double priceAt(long millis) {
+        if (millis < firstMillis) {
+            return Double.NaN;
+        }
+        if (millis >= lastMillis) {
+            return lastPrice;
+        }
+        int checkpoint = Arrays.binarySearch(checkpointMillis, millis);
+        if (checkpoint < 0) {
+            checkpoint = -checkpoint - 2;
+        } else {
+            // Several checkpoints may share a time; the latest one is the price in effect
+            while (checkpoint + 1 < checkpointMillis.length && checkpointMillis[checkpoint + 1] == millis) {
+                checkpoint++;
+            }
+        }
+        Decoder decoder = checkpoint < 0
+                ? new Decoder(0, firstMillis, firstPrice)
+                : new Decoder(checkpointOffsets[checkpoint], checkpointMillis[checkpoint], checkpointPrices[checkpoint]);
+        double price = decoder.price;
+        while (decoder.offset < length && decoder.next() && decoder.millis <= millis) {
+            price = decoder.price;
+        }
+        return price;
+    }
+
+    synchronized long firstMillis() {
+        return firstMillis;
+    }
+
+    synchronized double firstPrice() {
+        return firstPrice;
+    }
+
+    synchronized long lastMillis() {
+        return lastMillis;
+    }
+
+    // Price changes ever recorded, including those dropped to bound memory
+    synchronized long changeCount() {
+        return recorded - 1;
+    }
+
+    synchronized int points() {
+        return points;
+    }
+
+    // Times and prices of the held points, oldest first
+    synchronized void copyTo(long[] millis, double[] prices) {
+        Decoder decoder = new Decoder(0, firstMillis, firstPrice);
+        millis[0] = firstMillis;
+        prices[0] = firstPrice;
+        for (int i = 1; i < points; i++) {
+            decoder.next();
+            millis[i] = decoder.millis;
+            prices[i] = decoder.price;
+        }
+    }
+
+    // Retained heap: this object and its own arrays, with 16-byte array headers and 8-byte alignment
+    synchronized long footprintBytes() {
+        long checkpoints = checkpointMillis.length == 0 ? 0
+                : align(16L + 4L * checkpointOffsets.length) + 2 * align(16L + 8L * checkpointMillis.length);
+        return 80 + align(16L + data.length) + checkpoints;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private void dropOlderHalf() {
+        long[] millis = new long[points];
+        double[] prices = new double[points];
+        copyTo(millis, prices);
+        int keepFrom = points / 2;
+        data = new byte[Math.max(16, length / 2)];
+        length = 0;
+        checkpointOffsets = NO_OFFSETS;
+        checkpointMillis = NO_MILLIS;
+        checkpointPrices = NO_PRICES;
+        firstMillis = millis[keepFrom];
+        firstPrice = prices[keepFrom];
+        lastMillis = firstMillis;
+        lastPrice = firstPrice;
+        points = 1;
+        for (int i = keepFrom + 1; i < millis.length; i++) {
+            add(millis[i], prices[i]);
+        }
+    }
+
+    private void add(long millis, double price) {
+        encode(millis - lastMillis, lastPrice, price);
+        lastMillis = millis;
+        lastPrice = price;
+        points++;
+        if (points % CHECKPOINT_INTERVAL == 0) {
+            int checkpoint = points / CHECKPOINT_INTERVAL - 1;
+            checkpointOffsets = Arrays.copyOf(checkpointOffsets, checkpoint + 1);
+            checkpointMillis = Arrays.copyOf(checkpointMillis, checkpoint + 1);
+            checkpointPrices = Arrays.copyOf(checkpointPrices, checkpoint + 1);
+            checkpointOffsets[checkpoint] = length;
+            checkpointMillis[checkpoint] = millis;
+            checkpointPrices[checkpoint] = price;
+        }
+    }
+
+    private void encode(long elapsedMillis, double previous, double price) {
+        ensureCapacity(10 + 10 + 8);
+        writeVarint(elapsedMillis);
+        long previousCents = Math.round(previous * 100);
+        long cents = Math.round(price * 100);
+        if (cents / 100.0 == price) {
+            long delta = cents - previousCents;
+            writeVarint(((delta << 1) ^ (delta >> 63)) << 1);
+        } else {
+            data[length++] = RAW_PRICE;
+            long bits = Double.doubleToRawLongBits(price);
+            for (int shift = 0; shift < 64; shift += 8) {
+                data[length++] = (byte) (bits >>> shift);
+            }
+        }
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(length + extra, data.length * 2));
+        }
+    }
+
+    private void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    // Walks the points after a starting state
+    private final class Decoder {
+        private int offset;
+        private long millis;
+        private double price;
+
+        private Decoder(int offset, long millis, double price) {
+            this.offset = offset;
+            this.millis = millis;
+            this.price = price;
+        }
+
+        private boolean next() {
+            millis += readVarint();
+            long token = readVarint();
+            if (token == RAW_PRICE) {
+                long bits = 0;
+                for (int shift = 0; shift < 64; shift += 8) {
+                    bits |= (data[offset++] & 0xFFL) << shift;
+                }
+                price = Double.longBitsToDouble(bits);
+            } else {
+                long zigzag = token >>> 1;
+                long delta = (zigzag >>> 1) ^ -(zigzag & 1);
+                price = (Math.round(price * 100) + delta) / 100.0;
+            }
+            return true;
+        }
+
+        private long readVarint() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package RealEstatePackage;
+
+// Heap held by the price histories of an inventory; listings never repriced hold none
+public record PriceHistoryFootprint(long listings, long repricedListings, long priceChanges, long heldPoints,
+                                    long bytes) {
+    public double bytesPerChange() {
+        return priceChanges == 0 ? 0 : (double) bytes / priceChanges;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d of %d listings repriced, %d changes (%d held), %d bytes, %.1f bytes/change",
+                repricedListings, listings, priceChanges, heldPoints, bytes, bytesPerChange());
+    }
+}
@@ -0,0 +1,19 @@
+package RealEstatePackage;
+
+// Price index key; the normalized address breaks ties so equal prices can coexist in a sorted map
+record PriceKey(double price, String address) implements Comparable<PriceKey> {
+    PriceKey {
+        price = price + 0.0; // fold -0.0 into 0.0 so it sorts with the other zero prices
+    }
+
+    // Smallest key with the given price, usable as an inclusive lower bound
+    static PriceKey lowerBound(double price) {
+        return new PriceKey(price, "");
+    }
+
+    @Override
+    public int compareTo(PriceKey other) {
+        int byPrice = Double.compare(price, other.price);
+        return byPrice != 0 ? byPrice : address.compareTo(other.address);
+    }
+}
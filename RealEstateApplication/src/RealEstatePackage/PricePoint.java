@@ -0,0 +1,7 @@
+package RealEstatePackage;
+
+import java.time.LocalDateTime;
+
+// One entry of a listing's price history: the price that took effect at the given time
+public record PricePoint(LocalDateTime time, double price) {
+}
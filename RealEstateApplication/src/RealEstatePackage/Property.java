@@ -1,23 +1,47 @@
 package RealEstatePackage;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
-import java.util.ResourceBundle;
-import java.text.NumberFormat;
+import java.util.OptionalDouble;
 
 public abstract sealed class Property implements PropertyManagement permits ResidentialProperty, CommercialProperty {
-    private PropertyDetails propertyDetails; // No longer final due to updatePrice
-    private PropertyStatus status;
+    // No longer final due to updatePrice and updateStatus; null while in columns
+    private volatile PropertyDetails propertyDetails;
+    private PropertyListener listener; // Set while the property is held by a PropertyManager
+    // Set while a ColumnarPropertyManager holds the listing; the property is then a view over this row
+    private PropertyColumns columns;
+    private int row;
+    // Position in the managing PropertyManager's PropertyBitmapIndex, or -1
+    int slot = -1;
+    // Null until the first price change, so listings that are never repriced carry no history. PropertyJournal
+    // replays repricings with their recorded times; snapshots hold no history, so a listing loaded from one starts
+    // over from its snapshot price
+    private volatile PriceHistory priceHistory;
 
     public Property() {
         this("Unknown Address", 0.0);
     }
 
     public Property(String address, double price) {
-        validatePriceBeforeUpdate(price); // Use the default method from PropertyManagement
-        this.propertyDetails = new PropertyDetails(address, price, PropertyStatus.AVAILABLE, LocalDateTime.now());
-        this.status = PropertyStatus.AVAILABLE;
+        this(address, price, LocalDateTime.now());
+    }
+
+    // Restores a listing with its original timestamp, e.g. when loading a saved snapshot
+    Property(String address, double price, LocalDateTime addedDate) {
+        this(address, price, addedDate, false);
+    }
+
+    // priceValidated: the caller already checked the price, e.g. a bulk import through
+    // PropertyManagement.validatePricesBeforeUpdate, so it is not validated and logged once more per listing
+    Property(String address, double price, LocalDateTime addedDate, boolean priceValidated) {
+        if (!priceValidated) {
+            validatePriceBeforeUpdate(price); // Use the default method from PropertyManagement
+        }
+        this.propertyDetails = new PropertyDetails(address, price, PropertyStatus.AVAILABLE, addedDate);
     }
 
     @Override
@@ -27,80 +51,249 @@ public abstract sealed class Property implements PropertyManagement permits Resi
 
     @Override
     public void updatePrice(double newPrice) {
+        updatePrice(newPrice, LocalDateTime.now());
+    }
+
+    // Records the change in the price history at the given time, e.g. when replaying repricings from another
+    // system; a time before the previous change is recorded as the previous change's time
+    public void updatePrice(double newPrice, LocalDateTime changedAt) {
+        if (changedAt == null) {
+            throw new IllegalArgumentException("Price change time cannot be null.");
+        }
+        changePrice(newPrice, changedAt);
+    }
+
+    // A replayed change whose time was never recorded, e.g. an older journal record; it adds no history point
+    void replayPrice(double newPrice) {
+        changePrice(newPrice, null);
+    }
+
+    private void changePrice(double newPrice, LocalDateTime changedAt) {
         validatePriceBeforeUpdate(newPrice); // Use the default method from PropertyManagement
-        this.propertyDetails = new PropertyDetails(
-                propertyDetails.address(),
-                newPrice,
-                propertyDetails.status(),
-                propertyDetails.addedDate()
-        );
+        if (listener != null) {
+            listener.priceChanging(this, newPrice, changedAt);
+        }
+        double oldPrice = getPrice();
+        if (newPrice != oldPrice && changedAt != null) {
+            PriceHistory history = priceHistory;
+            if (history == null) {
+                history = new PriceHistory(toMillis(getAddedDate()), oldPrice);
+                priceHistory = history;
+            }
+            history.append(toMillis(changedAt), newPrice);
+        }
+        if (columns != null) {
+            columns.setPrice(row, newPrice);
+        } else {
+            this.propertyDetails = new PropertyDetails(
+                    propertyDetails.address(),
+                    newPrice,
+                    propertyDetails.status(),
+                    propertyDetails.addedDate()
+            );
+        }
+        if (listener != null) {
+            listener.priceChanged(this, oldPrice);
+        }
     }
 
     public void updateStatus(PropertyStatus newStatus) {
-        this.status = newStatus;
+        if (newStatus == null) {
+            throw new IllegalArgumentException("Status cannot be null.");
+        }
+        if (listener != null) {
+            listener.statusChanging(this, newStatus);
+        }
+        PropertyStatus oldStatus = getStatus();
+        if (columns != null) {
+            columns.setStatus(row, newStatus);
+        } else {
+            this.propertyDetails = new PropertyDetails(
+                    propertyDetails.address(),
+                    propertyDetails.price(),
+                    newStatus,
+                    propertyDetails.addedDate()
+            );
+        }
+        if (listener != null) {
+            listener.statusChanged(this, oldStatus);
+        }
+    }
+
+    // Price in effect at the given time; empty before the listing was added, or before the oldest change still
+    // held once a very long history has been trimmed
+    public OptionalDouble getPriceAt(LocalDateTime time) {
+        PriceHistory history = priceHistory;
+        if (history == null) {
+            return time.isBefore(getAddedDate()) ? OptionalDouble.empty() : OptionalDouble.of(getPrice());
+        }
+        double price = history.priceAt(toMillis(time));
+        return Double.isNaN(price) ? OptionalDouble.empty() : OptionalDouble.of(price);
+    }
+
+    // Every price change since the listing was added, including any trimmed from the history
+    public long getPriceChangeCount() {
+        PriceHistory history = priceHistory;
+        return history == null ? 0 : history.changeCount();
+    }
+
+    // The listing price and each change held in the history, oldest first
+    public List<PricePoint> getPriceHistory() {
+        PriceHistory history = priceHistory;
+        if (history == null) {
+            return List.of(new PricePoint(getAddedDate(), getPrice()));
+        }
+        long[] millis;
+        double[] prices;
+        synchronized (history) {
+            millis = new long[history.points()];
+            prices = new double[millis.length];
+            history.copyTo(millis, prices);
+        }
+        List<PricePoint> points = new ArrayList<>(millis.length);
+        for (int i = 0; i < millis.length; i++) {
+            points.add(new PricePoint(LocalDateTime.ofInstant(Instant.ofEpochMilli(millis[i]), ZoneOffset.UTC), prices[i]));
+        }
+        return points;
+    }
+
+    PriceHistory priceHistory() {
+        return priceHistory;
+    }
+
+    // Price history times are UTC epoch milliseconds of the local date-times, as in PropertySnapshotFile
+    static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    PropertyListener getListener() {
+        return listener;
+    }
+
+    void setListener(PropertyListener listener) {
+        this.listener = listener;
+    }
+
+    // Moves the listing's data into a row of the columns and drops the per-listing objects
+    void moveTo(PropertyColumns columns) {
+        this.row = columns.add(this);
+        this.columns = columns;
+        this.propertyDetails = null;
+        attributesMoved();
+    }
+
+    // Takes the listing's data back out of its columns, e.g. when it is removed from a ColumnarPropertyManager
+    void detach() {
+        if (columns == null) {
+            return;
+        }
+        this.propertyDetails = new PropertyDetails(getFullAddress(), getPrice(), getStatus(), getAddedDate());
+        attributesReturned();
+        columns.remove(row);
+        this.columns = null;
+    }
+
+    // The columns compacted their rows and this listing's data now lives at the given one
+    void relocate(int row) {
+        this.row = row;
+    }
+
+    // Subclasses drop the fields the columns hold for them while the listing is in columns, and take them back
+    void attributesMoved() {
+    }
+
+    void attributesReturned() {
+    }
+
+    PropertyColumns columns() {
+        return columns;
+    }
+
+    int row() {
+        return row;
     }
 
     public String getFullDetails() {
-        return "Address: " + propertyDetails.address() +
-                ", Price: $" + propertyDetails.price() +
-                ", Status: " + status +
-                ", Added: " + propertyDetails.addedDate();
+        return "Address: " + getFullAddress() +
+                ", Price: $" + getPrice() +
+                ", Status: " + getStatus() +
+                ", Added: " + getAddedDate();
     }
 
     public String getFullAddress() {
-        return propertyDetails.address();
+        return columns != null ? columns.address(row) : propertyDetails.address();
     }
 
     public double getPrice() {
-        return propertyDetails.price();
+        return columns != null ? columns.price(row) : propertyDetails.price();
     }
 
     public PropertyStatus getStatus() {
-        return status;
+        return columns != null ? columns.status(row) : propertyDetails.status();
+    }
+
+    public LocalDateTime getAddedDate() {
+        return columns != null ? columns.addedDate(row) : propertyDetails.addedDate();
     }
 
+    public abstract PropertyType getType();
+
     // Localization: Format and translate address
     public String getFormattedAddress(Locale locale) {
-        ResourceBundle messages = ResourceBundle.getBundle("messages", locale);
-        String streetLabel = messages.getString("address.street");
-        return propertyDetails.address() + " " + streetLabel;
+        return LocalizedRendering.of(locale).address(this);
     }
 
     // Localization: Format price
     public String getFormattedPrice(Locale locale) {
-        NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(locale);
-        return currencyFormatter.format(propertyDetails.price());
+        return LocalizedRendering.of(locale).price(this);
     }
 
     // Localization: Translate status
     public String getLocalizedStatus(Locale locale) {
-        ResourceBundle messages = ResourceBundle.getBundle("messages", locale);
-        String statusKey = "status." + status.name().toLowerCase();
-        return messages.getString(statusKey);
+        return LocalizedRendering.of(locale).status(this);
     }
 
     // Localization: Format datetime
     public String getFormattedAddedDate(Locale locale) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd MMMM yyyy HH:mm", locale);
-        return propertyDetails.addedDate().format(formatter);
+        return LocalizedRendering.of(locale).addedDate(this);
     }
 }
 
 final class ResidentialProperty extends Property {
-    private final int bedrooms;
+    private int bedrooms; // Held by the columns instead while in a ColumnarPropertyManager
 
     ResidentialProperty(String address, double price, int bedrooms) {
         super(address, price);
         this.bedrooms = bedrooms;
     }
 
+    ResidentialProperty(String address, double price, int bedrooms, LocalDateTime addedDate) {
+        super(address, price, addedDate);
+        this.bedrooms = bedrooms;
+    }
+
+    ResidentialProperty(String address, double price, int bedrooms, LocalDateTime addedDate, boolean priceValidated) {
+        super(address, price, addedDate, priceValidated);
+        this.bedrooms = bedrooms;
+    }
+
+    public int getBedrooms() {
+        PropertyColumns columns = columns();
+        return columns != null ? columns.bedrooms(row()) : bedrooms;
+    }
+
+    @Override
+    void attributesReturned() {
+        bedrooms = getBedrooms();
+    }
+
     @Override
     public void listProperty() {
         try {
             if (super.getFullAddress() == null) {
                 throw new NullPointerException("Residential Property address cannot be null");
             }
-            System.out.println("Residential property at " + super.getFullAddress() + " with " + bedrooms + " bedrooms, priced at $" + super.getPrice() + " [" + super.getStatus() + "]");
+            System.out.println("Residential property at " + super.getFullAddress() + " with " + getBedrooms() + " bedrooms, priced at $" + super.getPrice() + " [" + super.getStatus() + "]");
         } catch (NullPointerException e) {
             System.out.println("Error at method listProperty(): " + e.getMessage());
         }
@@ -108,25 +301,56 @@ final class ResidentialProperty extends Property {
 
     @Override
     public String getFullDetails() {
-        return super.getFullDetails() + ", Bedrooms: " + bedrooms;
+        return super.getFullDetails() + ", Bedrooms: " + getBedrooms();
+    }
+
+    @Override
+    public PropertyType getType() {
+        return PropertyType.RESIDENTIAL;
     }
 }
 
 final class CommercialProperty extends Property {
-    private final String businessType;
+    private String businessType; // Held by the columns' dictionary instead while in a ColumnarPropertyManager
 
     CommercialProperty(String address, double price, String businessType) {
         super(address, price);
         this.businessType = businessType;
     }
 
+    CommercialProperty(String address, double price, String businessType, LocalDateTime addedDate) {
+        super(address, price, addedDate);
+        this.businessType = businessType;
+    }
+
+    CommercialProperty(String address, double price, String businessType, LocalDateTime addedDate,
+                       boolean priceValidated) {
+        super(address, price, addedDate, priceValidated);
+        this.businessType = businessType;
+    }
+
+    public String getBusinessType() {
+        PropertyColumns columns = columns();
+        return columns != null ? columns.businessType(row()) : businessType;
+    }
+
+    @Override
+    void attributesMoved() {
+        businessType = null;
+    }
+
+    @Override
+    void attributesReturned() {
+        businessType = getBusinessType();
+    }
+
     @Override
     public void listProperty() {
         try {
             if (super.getFullAddress() == null) {
                 throw new NullPointerException("Commercial Property address cannot be null");
             }
-            System.out.println("Commercial property for " + businessType + " business at " + super.getFullAddress() + ", priced at $" + super.getPrice() + " [" + super.getStatus() + "]");
+            System.out.println("Commercial property for " + getBusinessType() + " business at " + super.getFullAddress() + ", priced at $" + super.getPrice() + " [" + super.getStatus() + "]");
         } catch (NullPointerException e) {
             System.out.println("Error at method listProperty(): " + e.getMessage());
         }
@@ -134,6 +358,11 @@ final class CommercialProperty extends Property {
 
     @Override
     public String getFullDetails() {
-        return super.getFullDetails() + ", Business Type: " + businessType;
+        return super.getFullDetails() + ", Business Type: " + getBusinessType();
+    }
+
+    @Override
+    public PropertyType getType() {
+        return PropertyType.COMMERCIAL;
     }
 }
\ No newline at end of file
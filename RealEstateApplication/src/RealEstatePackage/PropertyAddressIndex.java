@@ -0,0 +1,122 @@
+package RealEstatePackage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+// Substring index over normalized addresses, kept by a PropertyBitmapIndex partition under its lock and over its
+// slot numbers. One PropertyBitmap per trigram (three consecutive chars): only listings in every bitmap of the
+// text's trigrams can hold it, and those are confirmed with contains() in slot order, i.e. insertion order,
+// stopping at the limit, so a query touches the rarest trigram's listings at most rather than every address.
+final class PropertyAddressIndex {
+    private static final int GRAM = 3;
+
+    private final Map<Long, PropertyBitmap> byTrigram = new HashMap<>();
+    // Normalized address per slot, null for free slots
+    private String[] keys = new String[64];
+
+    void add(int slot, String key) {
+        if (slot >= keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(slot + 1, Math.multiplyExact(keys.length, 2)));
+        }
+        keys[slot] = key;
+        for (int i = 0; i + GRAM <= key.length(); i++) {
+            byTrigram.computeIfAbsent(trigram(key, i), _ -> new PropertyBitmap()).add(slot);
+        }
+    }
+
+    // Returns the slot's normalized address
+    String remove(int slot) {
+        String key = keys[slot];
+        keys[slot] = null;
+        for (int i = 0; i + GRAM <= key.length(); i++) {
+            Long trigram = trigram(key, i);
+            PropertyBitmap bitmap = byTrigram.get(trigram);
+            if (bitmap != null && bitmap.remove(slot) && bitmap.cardinality() == 0) {
+                byTrigram.remove(trigram);
+            }
+        }
+        return key;
+    }
+
+    // Called after the partition renumbers its live listings 0, 1, ... in their old order
+    void renumber() {
+        String[] renumbered = new String[keys.length];
+        byTrigram.clear();
+        int slot = 0;
+        for (String key : keys) {
+            if (key != null) {
+                renumbered[slot] = key;
+                for (int i = 0; i + GRAM <= key.length(); i++) {
+                    byTrigram.computeIfAbsent(trigram(key, i), _ -> new PropertyBitmap()).add(slot);
+                }
+                slot++;
+            }
+        }
+        keys = renumbered;
+    }
+
+    // Up to limit listings whose normalized address contains the normalized text, in insertion order; slots whose
+    // address passes skip are left out
+    List<Property> containing(String text, int limit, Property[] slots, int slotCount, Predicate<String> skip) {
+        List<Property> matches = new ArrayList<>(Math.min(limit, 64));
+        if (limit == 0) {
+            return matches;
+        }
+        if (text.length() < GRAM) {
+            // Too short for a trigram; such texts match densely, so a scan meets the limit early
+            for (int slot = 0; slot < slotCount && matches.size() < limit; slot++) {
+                String key = keys[slot];
+                if (key != null && key.contains(text) && !skip.test(key)) {
+                    matches.add(slots[slot]);
+                }
+            }
+            return matches;
+        }
+        List<PropertyBitmap> bitmaps = trigramBitmaps(text);
+        if (bitmaps == null) {
+            return matches;
+        }
+        // Walk the rarest trigram's listings in slot order, probing the others, rarest next, so a dense match
+        // stops after a few dozen probes and a sparse one costs at most one pass over the rarest bitmap
+        PropertyBitmap rarest = bitmaps.getFirst();
+        List<PropertyBitmap> others = bitmaps.subList(1, bitmaps.size());
+        rarest.forEachWhile(slot -> {
+            for (PropertyBitmap other : others) {
+                if (!other.contains(slot)) {
+                    return true;
+                }
+            }
+            String key = keys[slot];
+            if (key.contains(text) && !skip.test(key)) {
+                matches.add(slots[slot]);
+            }
+            return matches.size() < limit;
+        });
+        return matches;
+    }
+
+    // The distinct trigram bitmaps of the text, smallest first; null if a trigram occurs in no address
+    private List<PropertyBitmap> trigramBitmaps(String text) {
+        List<PropertyBitmap> bitmaps = new ArrayList<>(text.length() - GRAM + 1);
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            PropertyBitmap bitmap = byTrigram.get(trigram(text, i));
+            if (bitmap == null) {
+                return null;
+            }
+            if (!bitmaps.contains(bitmap)) {
+                bitmaps.add(bitmap);
+            }
+        }
+        bitmaps.sort(Comparator.comparingLong(PropertyBitmap::cardinality));
+        return bitmaps;
+    }
+
+    private static Long trigram(String key, int start) {
+        return ((long) key.charAt(start) << 32) | ((long) key.charAt(start + 1) << 16) | key.charAt(start + 2);
+    }
+}
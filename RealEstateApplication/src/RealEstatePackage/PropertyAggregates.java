@@ -0,0 +1,168 @@
+package RealEstatePackage;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Running count, total, min and max price for every PropertyType / PropertyStatus pair.
+// PropertyManager updates it on add, remove, price change and status change.
+final class PropertyAggregates {
+    private final Bucket[][] buckets = new Bucket[PropertyType.values().length][PropertyStatus.values().length];
+    // Set instead of ordered price sets, whose entries would outweigh the columns themselves
+    private final PropertyColumns columns;
+
+    PropertyAggregates(Supplier<NavigableSet<PriceKey>> priceSetFactory) {
+        this(priceSetFactory, null);
+    }
+
+    // For a ColumnarPropertyManager: min and max are kept running instead, and rescanned from the columns once
+    // the listing holding one leaves the bucket. Not thread-safe, like the columns.
+    PropertyAggregates(PropertyColumns columns) {
+        this(() -> null, columns);
+    }
+
+    private PropertyAggregates(Supplier<NavigableSet<PriceKey>> priceSetFactory, PropertyColumns columns) {
+        this.columns = columns;
+        for (Bucket[] byStatus : buckets) {
+            for (int i = 0; i < byStatus.length; i++) {
+                byStatus[i] = new Bucket(priceSetFactory.get());
+            }
+        }
+    }
+
+    void add(PropertyType type, PropertyStatus status, PriceKey key) {
+        bucket(type, status).add(key);
+    }
+
+    void remove(PropertyType type, PropertyStatus status, PriceKey key) {
+        bucket(type, status).remove(key);
+    }
+
+    void changePrice(PropertyType type, PropertyStatus status, PriceKey oldKey, PriceKey newKey) {
+        Bucket bucket = bucket(type, status);
+        bucket.remove(oldKey);
+        bucket.add(newKey);
+    }
+
+    void changeStatus(PropertyType type, PropertyStatus oldStatus, PropertyStatus newStatus, PriceKey key) {
+        bucket(type, oldStatus).remove(key);
+        bucket(type, newStatus).add(key);
+    }
+
+    // A null type or status matches every value, so statistics(null, null) covers the whole inventory
+    DoubleSummaryStatistics statistics(PropertyType type, PropertyStatus status) {
+        long count = 0;
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (PropertyType t : PropertyType.values()) {
+            for (PropertyStatus s : PropertyStatus.values()) {
+                if ((type != null && t != type) || (status != null && s != status)) {
+                    continue;
+                }
+                Bucket bucket = buckets[t.ordinal()][s.ordinal()];
+                if (bucket.prices == null) {
+                    if (bucket.count.sum() == 0) {
+                        continue;
+                    }
+                    if (bucket.rescan) {
+                        DoubleSummaryStatistics prices = columns.priceStatistics(t, s);
+                        bucket.min = prices.getMin();
+                        bucket.max = prices.getMax();
+                        bucket.rescan = false;
+                    }
+                    count += bucket.count.sum();
+                    sum += bucket.sum.sum();
+                    min = Math.min(min, bucket.min);
+                    max = Math.max(max, bucket.max);
+                    continue;
+                }
+                // Read the ends first so a bucket emptied concurrently contributes nothing. The four reads are not
+                // atomic, so while writers run the ends may cross and the count may be briefly off; both ends
+                // count towards min and max, so a racing read is slightly stale rather than invalid
+                PriceKey lowest = first(bucket.prices);
+                PriceKey highest = last(bucket.prices);
+                long bucketCount = bucket.count.sum();
+                if (lowest == null || highest == null || bucketCount <= 0) {
+                    continue;
+                }
+                count += bucketCount;
+                sum += bucket.sum.sum();
+                min = Math.min(min, Math.min(lowest.price(), highest.price()));
+                max = Math.max(max, Math.max(lowest.price(), highest.price()));
+            }
+        }
+        return count == 0 ? new DoubleSummaryStatistics() : new DoubleSummaryStatistics(count, min, max, sum);
+    }
+
+    // Listings of one type and status; unlike statistics(), never rescans the columns
+    long count(PropertyType type, PropertyStatus status) {
+        return Math.max(0, bucket(type, status).count.sum());
+    }
+
+    // False for a ColumnarPropertyManager's aggregates, which keep no ordered prices
+    boolean hasPriceOrder() {
+        return columns == null;
+    }
+
+    // Prices and normalized addresses of one pair's listings, in price order; read-only use by PropertyQueryPlanner
+    NavigableSet<PriceKey> prices(PropertyType type, PropertyStatus status) {
+        return bucket(type, status).prices;
+    }
+
+    private Bucket bucket(PropertyType type, PropertyStatus status) {
+        return buckets[type.ordinal()][status.ordinal()];
+    }
+
+    // Iterators rather than first()/last(), which throw if a concurrent remove empties the set
+    private static PriceKey first(NavigableSet<PriceKey> prices) {
+        Iterator<PriceKey> ascending = prices.iterator();
+        return ascending.hasNext() ? ascending.next() : null;
+    }
+
+    private static PriceKey last(NavigableSet<PriceKey> prices) {
+        Iterator<PriceKey> descending = prices.descendingIterator();
+        return descending.hasNext() ? descending.next() : null;
+    }
+
+    private static final class Bucket {
+        private final LongAdder count = new LongAdder();
+        private final DoubleAdder sum = new DoubleAdder();
+        // Ordered prices give min and max without a scan once the current extreme is removed
+        private final NavigableSet<PriceKey> prices;
+        // Kept instead while prices is null; rescan once a listing at either end has gone
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+        private boolean rescan;
+
+        private Bucket(NavigableSet<PriceKey> prices) {
+            this.prices = prices;
+        }
+
+        private void add(PriceKey key) {
+            if (prices == null) {
+                count.increment();
+                sum.add(key.price());
+                min = Math.min(min, key.price());
+                max = Math.max(max, key.price());
+            } else if (prices.add(key)) {
+                count.increment();
+                sum.add(key.price());
+            }
+        }
+
+        private void remove(PriceKey key) {
+            if (prices == null) {
+                count.decrement();
+                sum.add(-key.price());
+                rescan |= key.price() <= min || key.price() >= max;
+            } else if (prices.remove(key)) {
+                count.decrement();
+                sum.add(-key.price());
+            }
+        }
+    }
+}
@@ -1,142 +1,380 @@
 package RealEstatePackage;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.ResourceBundle;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 public class PropertyAnalyzer {
+    // calculateTotalPriceConcurrently() sums fixed blocks of this many listings, so its rounding never depends on threads
+    private static final int SUM_BLOCK_SIZE = 4096;
+    // Same order as the manager's price index: price, then normalized address
+    private static final Comparator<Property> PRICE_ORDER = Comparator.comparingDouble(Property::getPrice)
+            .thenComparing(property -> PropertyManager.normalizeAddress(property.getFullAddress()));
+
+    // Recorded only while PropertyMetrics is enabled
+    private static final PropertyMetrics.Operation FILTER = PropertyMetrics.operation("PropertyAnalyzer.filterPropertiesByCondition");
+    private static final PropertyMetrics.Operation GROUP_BY_STATUS = PropertyMetrics.operation("PropertyAnalyzer.groupPropertiesByStatus");
+    private static final PropertyMetrics.Operation MAP_BY_ADDRESS = PropertyMetrics.operation("PropertyAnalyzer.mapPropertiesByAddress");
+    private static final PropertyMetrics.Operation PARTITION_BY_TYPE = PropertyMetrics.operation("PropertyAnalyzer.partitionPropertiesByType");
+    private static final PropertyMetrics.Operation LIMITED_ADDRESSES = PropertyMetrics.operation("PropertyAnalyzer.getLimitedDistinctAddressesByPrice");
+    private static final PropertyMetrics.Operation SORT_BY_PRICE = PropertyMetrics.operation("PropertyAnalyzer.sortPropertiesByPrice");
+    private static final PropertyMetrics.Operation TOTAL_PRICE = PropertyMetrics.operation("PropertyAnalyzer.calculateTotalPriceConcurrently");
+
+    // Default result cache bounds: dashboard-sized, and at most a few million listing references in total
+    public static final int DEFAULT_CACHE_ENTRIES = 64;
+    public static final long DEFAULT_CACHE_ELEMENTS = 4_000_000;
+
     private final PropertyManager manager;
+    // Null runs every analysis sequentially on the calling thread
+    private final ForkJoinPool pool;
+    private final AnalysisCache cache;
 
     public PropertyAnalyzer(PropertyManager manager) {
+        this(manager, null);
+    }
+
+    // Runs the scanning analyses as parallel streams on the given pool. The snapshot is a random-access list,
+    // so the streams split into balanced halves, and every result is the same as in sequential mode.
+    // Printing stays sequential to keep output order, and first-element lookups are not worth splitting.
+    public PropertyAnalyzer(PropertyManager manager, ForkJoinPool pool) {
+        this(manager, pool, DEFAULT_CACHE_ENTRIES, DEFAULT_CACHE_ELEMENTS);
+    }
+
+    // The grouping, partitioning, mapping, sorting and filtering results are cached until the manager's version
+    // changes, at most cacheEntries of them holding at most cacheElements listings in total; 0 entries disables it
+    public PropertyAnalyzer(PropertyManager manager, ForkJoinPool pool, int cacheEntries, long cacheElements) {
         this.manager = manager;
+        this.pool = pool;
+        this.cache = new AnalysisCache(cacheEntries, cacheElements, manager::getVersion);
+    }
+
+    // Parallel analyzer sharing ForkJoinPool.commonPool()
+    public static PropertyAnalyzer parallel(PropertyManager manager) {
+        return new PropertyAnalyzer(manager, ForkJoinPool.commonPool());
+    }
+
+    public boolean isParallel() {
+        return pool != null;
+    }
+
+    public AnalyzerCacheStatistics getCacheStatistics() {
+        return cache.statistics();
+    }
+
+    public void clearCache() {
+        cache.clear();
+    }
+
+    private Stream<Property> stream(List<Property> properties) {
+        return pool == null ? properties.stream() : properties.parallelStream();
+    }
+
+    // Evaluates a terminal stream operation inside the pool, so its parallel work runs there and not in the common pool
+    private <T> T evaluate(Supplier<T> analysis) {
+        return pool == null ? analysis.get() : pool.submit(analysis::get).join();
+    }
+
+    private static <T> T timed(PropertyMetrics.Operation operation, Supplier<T> analysis) {
+        long start = operation.start();
+        try {
+            return analysis.get();
+        } finally {
+            operation.stop(start);
+        }
     }
 
     public void logProperties() {
-        Consumer<Property> propertyLogger = property ->
-                System.out.println("LOG: [Address: " + property.getFullAddress() +
-                        ", Price: $" + property.getPrice() +
-                        ", Status: " + property.getStatus() + "]");
         System.out.println("\nLogging all properties with Consumer:");
-        manager.getProperties().forEach(propertyLogger);
+        try (PropertyReportWriter out = PropertyReportWriter.toConsole()) {
+            logProperties(out);
+        }
     }
 
+    public void logProperties(PropertyReportWriter out) {
+        Consumer<Property> propertyLogger = property -> {
+            out.append("LOG: [Address: ").append(property.getFullAddress())
+                    .append(", Price: $").append(property.getPrice())
+                    .append(", Status: ").append(property.getStatus()).append(']');
+            out.endLine();
+        };
+        manager.getSnapshot().forEach(propertyLogger);
+    }
+
+    // Cached, so the list is unmodifiable; a null status matches nothing
     public List<Property> filterPropertiesByCondition(double minPrice, PropertyStatus status) {
         Predicate<Property> condition = property ->
                 property.getPrice() >= minPrice && property.getStatus() == status;
-        return manager.getProperties().stream()
-                .filter(condition)
-                .collect(Collectors.toList());
+        return timed(FILTER, () -> cache.get("filterPropertiesByCondition", Arrays.asList(minPrice, status),
+                () -> Collections.unmodifiableList(evaluate(() -> stream(manager.getSnapshot())
+                        .filter(condition)
+                        .collect(Collectors.toList()))),
+                List::size));
     }
 
     public Property getDefaultPropertyFromSupplier(Supplier<Property> defaultPropertySupplier) {
-        return manager.getProperties().isEmpty() ? defaultPropertySupplier.get() : manager.getProperties().getFirst();
+        List<Property> properties = manager.getSnapshot();
+        return properties.isEmpty() ? defaultPropertySupplier.get() : properties.getFirst();
     }
 
     public void printFormattedProperties() {
-        Function<Property, String> propertyFormatter = property ->
-                "Formatted: " + property.getFullAddress() + " - $" + property.getPrice();
         System.out.println("\nFormatted properties using Function:");
-        manager.getProperties().stream()
-                .map(propertyFormatter)
-                .forEach(System.out::println);
+        try (PropertyReportWriter out = PropertyReportWriter.toConsole()) {
+            printFormattedProperties(out);
+        }
+    }
+
+    public void printFormattedProperties(PropertyReportWriter out) {
+        Function<Property, PropertyReportWriter> propertyFormatter = property ->
+                out.append("Formatted: ").append(property.getFullAddress()).append(" - $").append(property.getPrice());
+        manager.getSnapshot().forEach(property -> propertyFormatter.apply(property).endLine());
     }
 
     public Property getDefaultPropertyIfEmpty() {
         try {
-            return manager.getProperties().getFirst();
+            return manager.getSnapshot().getFirst();
         } catch (NoSuchElementException e) {
             return new ResidentialProperty("Default Address", 100000, 2);
         }
     }
 
 
+    // Read from the status bitmaps; like groupingBy, statuses without listings are left out. Cached results, like
+    // those of the other cached analyses, are unmodifiable and shared between callers
     public Map<PropertyStatus, List<Property>> groupPropertiesByStatus() {
-        return manager.getProperties().stream()
-                .collect(Collectors.groupingBy(Property::getStatus));
+        return timed(GROUP_BY_STATUS, () -> cache.get("groupPropertiesByStatus", List.of(),
+                () -> {
+                    Map<PropertyStatus, List<Property>> groups = new HashMap<>();
+                    for (PropertyStatus status : PropertyStatus.values()) {
+                        List<Property> listings = manager.getPropertiesByStatus(status);
+                        if (!listings.isEmpty()) {
+                            groups.put(status, Collections.unmodifiableList(listings));
+                        }
+                    }
+                    return Collections.unmodifiableMap(groups);
+                },
+                PropertyAnalyzer::totalSize));
+    }
+
+    // Scanning counterpart of groupPropertiesByStatus(), kept to verify the bitmap index
+    public Map<PropertyStatus, List<Property>> groupPropertiesByStatusByScan() {
+        return evaluate(() -> stream(manager.getSnapshot())
+                .collect(Collectors.groupingBy(Property::getStatus)));
     }
 
+    // Unmodifiable, as the cached map is shared
     public Map<String, Property> mapPropertiesByAddress() {
-        return manager.getProperties().stream()
-                .collect(Collectors.toMap(
-                        Property::getFullAddress,
-                        property -> property,
-                        (p1, p2) -> p1
-                ));
+        return timed(MAP_BY_ADDRESS, () -> cache.get("mapPropertiesByAddress", List.of(),
+                () -> Collections.unmodifiableMap(evaluate(() -> stream(manager.getSnapshot())
+                        .collect(Collectors.toMap(
+                                Property::getFullAddress,
+                                property -> property,
+                                (p1, p2) -> p1
+                        )))),
+                Map::size));
     }
 
+    // Read from the type bitmaps; true holds the residential listings. The map and both lists are unmodifiable
     public Map<Boolean, List<Property>> partitionPropertiesByType() {
-        return manager.getProperties().stream()
+        return timed(PARTITION_BY_TYPE, () -> cache.get("partitionPropertiesByType", List.of(),
+                () -> {
+                    Map<Boolean, List<Property>> partition = new HashMap<>();
+                    partition.put(false, Collections.unmodifiableList(manager.getPropertiesByType(PropertyType.COMMERCIAL)));
+                    partition.put(true, Collections.unmodifiableList(manager.getPropertiesByType(PropertyType.RESIDENTIAL)));
+                    return Collections.unmodifiableMap(partition);
+                },
+                PropertyAnalyzer::totalSize));
+    }
+
+    // Scanning counterpart of partitionPropertiesByType(), kept to verify the bitmap index
+    public Map<Boolean, List<Property>> partitionPropertiesByTypeByScan() {
+        return evaluate(() -> stream(manager.getSnapshot())
                 .collect(Collectors.partitioningBy(
                         property -> property instanceof ResidentialProperty residential
-                ));
+                )));
     }
 
+    // Addresses of the limit cheapest listings, ties in insertion order. A bounded heap keeps only limit listings
+    // (O(n log limit)) where a full sort of the inventory used to; listings are distinct already. The cached list
+    // is unmodifiable.
     public List<String> getLimitedDistinctAddressesByPrice(int limit) {
-        return manager.getProperties().stream()
-                .distinct()
-                .sorted((p1, p2) -> Double.compare(p1.getPrice(), p2.getPrice()))
-                .limit(limit)
-                .map(Property::getFullAddress)
-                .collect(Collectors.toList());
+        return timed(LIMITED_ADDRESSES, () -> cache.get("getLimitedDistinctAddressesByPrice", List.of(limit),
+                () -> Collections.unmodifiableList(evaluate(() -> stream(manager.getSnapshot())
+                        .collect(TopK.collector(limit, Comparator.comparingDouble(Property::getPrice)))
+                        .stream()
+                        .map(Property::getFullAddress)
+                        .collect(Collectors.toList()))),
+                List::size));
     }
 
 
 
+    // Unmodifiable, as the cached list is shared
     public List<Property> sortPropertiesByPrice() {
-        return manager.getProperties().stream()
-                .sorted(Comparator.comparing(Property::getPrice))
-                .collect(Collectors.toList());
+        return timed(SORT_BY_PRICE, () -> cache.get("sortPropertiesByPrice", List.of(),
+                () -> Collections.unmodifiableList(manager.getPropertiesSortedByPrice()),
+                List::size));
     }
 
-    public double calculateTotalPriceConcurrently() throws Exception {
-        ExecutorService executor = Executors.newFixedThreadPool(2);
-        try {
-            List<Callable<Double>> tasks = List.of(
-                    () -> manager.getProperties().stream()
-                            .filter(p -> p instanceof ResidentialProperty)
-                            .mapToDouble(Property::getPrice)
-                            .sum(),
-                    () -> manager.getProperties().stream()
-                            .filter(p -> p instanceof CommercialProperty)
-                            .mapToDouble(Property::getPrice)
-                            .sum()
-            );
-            List<Future<Double>> results = executor.invokeAll(tasks);
-            return results.stream()
-                    .mapToDouble(future -> {
-                        try {
-                            return future.get();
-                        } catch (Exception e) {
-                            throw new RuntimeException(e);
-                        }
-                    })
-                    .sum();
-        } finally {
-            executor.shutdown();
+    private static long totalSize(Map<?, List<Property>> groups) {
+        long size = 0;
+        for (List<Property> group : groups.values()) {
+            size += group.size();
+        }
+        return size;
+    }
+
+    // Only the first count of sortPropertiesByPrice(), without materializing the rest
+    public List<Property> findCheapestProperties(int count) {
+        return manager.getCheapestProperties(count);
+    }
+
+    public List<Property> findMostExpensiveProperties(int count) {
+        return manager.getMostExpensiveProperties(count);
+    }
+
+    // Sorting counterpart of sortPropertiesByPrice(), kept to verify the price index
+    public List<Property> sortPropertiesByPriceByScan() {
+        return evaluate(() -> stream(manager.getSnapshot())
+                .sorted(PRICE_ORDER)
+                .toList());
+    }
+
+    // Listings whose price is now more than minDropPercent below what it was days ago, or below their listing
+    // price if they were added since
+    public List<Property> findPropertiesWithPriceDrop(double minDropPercent, int days) {
+        if (days < 0) {
+            throw new IllegalArgumentException("Days cannot be negative: " + days);
+        }
+        return findPropertiesWithPriceDrop(minDropPercent, LocalDateTime.now().minusDays(days));
+    }
+
+    public List<Property> findPropertiesWithPriceDrop(double minDropPercent, LocalDateTime since) {
+        if (minDropPercent < 0 || minDropPercent >= 100) {
+            throw new IllegalArgumentException("Drop percentage must be in [0, 100): " + minDropPercent);
         }
+        long sinceMillis = Property.toMillis(since);
+        return evaluate(() -> stream(manager.getSnapshot())
+                .filter(property -> hasPriceDrop(property, minDropPercent, sinceMillis))
+                .toList());
+    }
+
+    private static boolean hasPriceDrop(Property property, double minDropPercent, long sinceMillis) {
+        PriceHistory history = property.priceHistory();
+        // Not repriced since then, so the price is what it was
+        if (history == null || history.lastMillis() < sinceMillis) {
+            return false;
+        }
+        double before = history.priceAt(sinceMillis);
+        if (Double.isNaN(before)) {
+            before = history.firstPrice();
+        }
+        return property.getPrice() < before * (1 - minDropPercent / 100);
+    }
+
+    // Number of price changes per repriced listing, by address in insertion order
+    public Map<String, Long> getPriceChangeCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Property property : manager.getSnapshot()) {
+            long changes = property.getPriceChangeCount();
+            if (changes > 0) {
+                counts.put(property.getFullAddress(), changes);
+            }
+        }
+        return counts;
+    }
+
+    public PriceHistoryFootprint summarizePriceHistory() {
+        List<Property> properties = manager.getSnapshot();
+        long repriced = 0;
+        long changes = 0;
+        long points = 0;
+        long bytes = 0;
+        for (Property property : properties) {
+            PriceHistory history = property.priceHistory();
+            if (history != null) {
+                repriced++;
+                changes += history.changeCount();
+                points += history.points();
+                bytes += history.footprintBytes();
+            }
+        }
+        return new PriceHistoryFootprint(properties.size(), repriced, changes, points, bytes);
+    }
+
+    public double calculateTotalPrice() {
+        return manager.getPriceStatistics().getSum();
+    }
+
+    // Streaming counterpart of calculateTotalPrice(), kept to verify the running aggregates. Blocks of the snapshot
+    // are summed in parallel on the analyzer's pool (the common pool for a sequential analyzer), then added up in
+    // order, so the total does not vary with the thread count. Writers are not held off: the listings are those of
+    // one snapshot, but prices are read live, so the total is only point-in-time while no price changes.
+    public double calculateTotalPriceConcurrently() {
+        long start = TOTAL_PRICE.start();
+        ForkJoinPool sumPool = pool != null ? pool : ForkJoinPool.commonPool();
+        double[] blockSums = manager.query(properties -> sumPool.submit(() -> IntStream
+                .range(0, (properties.size() + SUM_BLOCK_SIZE - 1) / SUM_BLOCK_SIZE)
+                .parallel()
+                .mapToDouble(block -> {
+                    double sum = 0;
+                    int end = Math.min(properties.size(), (block + 1) * SUM_BLOCK_SIZE);
+                    for (int i = block * SUM_BLOCK_SIZE; i < end; i++) {
+                        sum += properties.get(i).getPrice();
+                    }
+                    return sum;
+                })
+                .toArray()).join());
+        double total = 0;
+        for (double blockSum : blockSums) {
+            total += blockSum;
+        }
+        TOTAL_PRICE.stop(start);
+        return total;
     }
 
     public void savePropertiesToFile(String filePath) throws IOException {
-        List<String> propertyDetails = manager.getProperties().stream()
-                .map(Property::getFullDetails)
-                .toList();
-        Files.write(Path.of(filePath), propertyDetails);
+        savePropertiesToFile(filePath, false);
+    }
+
+    // Streams one line per listing, so the export holds a fixed buffer rather than every line at once
+    public void savePropertiesToFile(String filePath, boolean gzip) throws IOException {
+        try (PropertyReportWriter out = PropertyReportWriter.toFile(Path.of(filePath), gzip)) {
+            writePropertyDetails(out);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public void writePropertyDetails(PropertyReportWriter out) {
+        manager.getSnapshot().forEach(property -> out.line(property.getFullDetails()));
+    }
+
+    // Binary columnar snapshot that PropertySnapshotFile.read/load can restore
+    public void saveSnapshotToFile(String filePath) throws IOException {
+        manager.query(properties -> {
+            PropertySnapshotFile.write(properties, Path.of(filePath));
+            return null;
+        });
     }
 
    /* public void displayPropertiesInLocale(Locale locale) {
@@ -151,62 +389,111 @@ public class PropertyAnalyzer {
     }*/
 
     public void displayPropertiesInLocale(Locale locale) {
-        // Use the fully qualified path to the resource bundle
-        ResourceBundle messages = ResourceBundle.getBundle("messages", locale);
-        System.out.println("\n" + messages.getString("display.header") + " " + locale);
-        manager.getProperties().forEach(property -> {
-            System.out.println(messages.getString("display.address") + ": " + property.getFormattedAddress(locale) +
-                    ", " + messages.getString("display.price") + ": " + property.getFormattedPrice(locale) +
-                    ", " + messages.getString("display.status") + ": " + property.getLocalizedStatus(locale) +
-                    ", " + messages.getString("display.added") + ": " + property.getFormattedAddedDate(locale));
+        try (PropertyReportWriter out = PropertyReportWriter.toConsole()) {
+            displayPropertiesInLocale(locale, out);
+        }
+    }
+
+    // Labels and formatters come from the cached per-locale context, not a bundle lookup per row
+    public void displayPropertiesInLocale(Locale locale, PropertyReportWriter out) {
+        LocalizedRendering rendering = LocalizedRendering.of(locale);
+        out.endLine();
+        out.line(rendering.header());
+        manager.getSnapshot().forEach(property -> {
+            rendering.appendLine(out.line(), property);
+            out.endLine();
         });
     }
 
     public Optional<Property> findCheapestProperty() {
-        return manager.getProperties().stream()
-                .min(Comparator.comparing(Property::getPrice));
+        return manager.getCheapestProperty();
     }
 
     public Optional<Property> findMostExpensiveProperty() {
-        return manager.getProperties().stream()
-                .max(Comparator.comparing(Property::getPrice));
+        return manager.getMostExpensiveProperty();
+    }
+
+    // Scanning counterparts of findCheapestProperty() and findMostExpensiveProperty(), with the index's tie-break
+    public Optional<Property> findCheapestPropertyByScan() {
+        return evaluate(() -> stream(manager.getSnapshot()).min(PRICE_ORDER));
+    }
+
+    public Optional<Property> findMostExpensivePropertyByScan() {
+        return evaluate(() -> stream(manager.getSnapshot()).max(PRICE_ORDER));
     }
 
     public long countPropertiesWithUnnamedVariable() {
-        return manager.getProperties().stream() .filter(_ -> true).count();
+        return evaluate(() -> stream(manager.getSnapshot()) .filter(_ -> true).count());
     }
 
     public long countProperties() {
-        return manager.getProperties().size();
+        return manager.getPriceStatistics().getCount();
+    }
+
+    // Scanning counterpart of countProperties(), kept to verify the running aggregates
+    public long countPropertiesByScan() {
+        return manager.getSnapshot().size();
     }
 
     public Optional<Property> findAnyProperty() {
-        return manager.getProperties().stream().findAny();
+        return manager.getSnapshot().stream().findAny();
     }
 
     public Optional<Property> findFirstProperty() {
-        return manager.getProperties().stream().findFirst();
+        return manager.getSnapshot().stream().findFirst();
     }
 
     public boolean areAllPropertiesSold() {
-        return manager.getProperties().stream()
-                .allMatch(property -> property.getStatus() == PropertyStatus.SOLD);
+        return manager.getPriceStatistics(PropertyStatus.SOLD).getCount() == manager.getPriceStatistics().getCount();
+    }
+
+    public boolean areAllPropertiesSoldByScan() {
+        return evaluate(() -> stream(manager.getSnapshot())
+                .allMatch(property -> property.getStatus() == PropertyStatus.SOLD));
     }
 
     public boolean isAnyPropertyAvailable() {
-        return manager.getProperties().stream()
-                .anyMatch(property -> property.getStatus() == PropertyStatus.AVAILABLE);
+        return manager.getPriceStatistics(PropertyStatus.AVAILABLE).getCount() > 0;
+    }
+
+    public boolean isAnyPropertyAvailableByScan() {
+        return evaluate(() -> stream(manager.getSnapshot())
+                .anyMatch(property -> property.getStatus() == PropertyStatus.AVAILABLE));
+    }
+
+    // Streams the snapshot once per PropertyType / PropertyStatus pair and compares with the running aggregates.
+    // Prices and statuses read live on both sides, so the comparison is exact only while no writer runs; call it
+    // with the manager quiescent, as ConcurrentPropertyManagerStress does after each pass
+    public boolean verifyPriceStatistics() {
+        return manager.query(properties -> {
+            for (PropertyType type : PropertyType.values()) {
+                for (PropertyStatus status : PropertyStatus.values()) {
+                    DoubleSummaryStatistics streamed = evaluate(() -> stream(properties)
+                            .filter(property -> property.getType() == type && property.getStatus() == status)
+                            .mapToDouble(Property::getPrice)
+                            .summaryStatistics());
+                    DoubleSummaryStatistics running = manager.getPriceStatistics(type, status);
+                    if (streamed.getCount() != running.getCount()
+                            || streamed.getMin() != running.getMin()
+                            || streamed.getMax() != running.getMax()
+                            || Math.abs(streamed.getSum() - running.getSum()) > 1e-9 * Math.max(1, Math.abs(streamed.getSum()))) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        });
     }
 
     public boolean areNoPropertiesBelowPrice(double price) {
-        return manager.getProperties().stream()
-                .noneMatch(property -> property.getPrice() < price);
+        return evaluate(() -> stream(manager.getSnapshot())
+                .noneMatch(property -> property.getPrice() < price));
     }
 
     // Java 22 Unnamed Variable in a loop
     public void printFormattedPropertiesWithUnnamedVariable() {
         System.out.println("\nPrinting formatted properties using unnamed variable in loop:");
-        for (Property _ : manager.getProperties()) {
+        for (Property _ : manager.getSnapshot()) {
             System.out.println("Processing a property...");
         }
     }
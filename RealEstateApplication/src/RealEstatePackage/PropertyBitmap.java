@@ -0,0 +1,285 @@
+package RealEstatePackage;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+// Compressed set of non-negative ints, laid out like a Roaring bitmap: values are split into chunks of 65536 by
+// their high 16 bits; a chunk with up to 4096 values is a sorted char[] of the low bits, a fuller one a 1024-word
+// bitset, and an empty one is not stored. Not thread-safe; PropertyBitmapIndex guards its bitmaps.
+final class PropertyBitmap {
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITSET_WORDS = 1024;
+
+    // Indexed by high 16 bits: null, char[] (sorted, first counts[i] entries used) or long[BITSET_WORDS]
+    private Object[] chunks = new Object[0];
+    private int[] counts = new int[0];
+    private long cardinality;
+
+    boolean add(int value) {
+        int high = value >>> 16;
+        char low = (char) value;
+        if (high >= chunks.length) {
+            chunks = Arrays.copyOf(chunks, high + 1);
+            counts = Arrays.copyOf(counts, high + 1);
+        }
+        switch (chunks[high]) {
+            case null -> {
+                chunks[high] = new char[]{low, 0, 0, 0};
+            }
+            case char[] values -> {
+                int count = counts[high];
+                int at = Arrays.binarySearch(values, 0, count, low);
+                if (at >= 0) {
+                    return false;
+                }
+                if (count == ARRAY_LIMIT) {
+                    long[] words = toBitset(values, count);
+                    words[low >>> 6] |= 1L << low;
+                    chunks[high] = words;
+                } else {
+                    int insert = -at - 1;
+                    char[] target = count == values.length ? Arrays.copyOf(values, Math.min(ARRAY_LIMIT, count * 2)) : values;
+                    System.arraycopy(values, insert, target, insert + 1, count - insert);
+                    target[insert] = low;
+                    chunks[high] = target;
+                }
+            }
+            case long[] words -> {
+                long bit = 1L << low;
+                if ((words[low >>> 6] & bit) != 0) {
+                    return false;
+                }
+                words[low >>> 6] |= bit;
+            }
+            default -> throw new IllegalStateException("Unknown bitmap chunk: " + chunks[high]);
+        }
+        counts[high]++;
+        cardinality++;
+        return true;
+    }
+
+    boolean remove(int value) {
+        int high = value >>> 16;
+        char low = (char) value;
+        if (high >= chunks.length) {
+            return false;
+        }
+        switch (chunks[high]) {
+            case null -> {
+                return false;
+            }
+            case char[] values -> {
+                int count = counts[high];
+                int at = Arrays.binarySearch(values, 0, count, low);
+                if (at < 0) {
+                    return false;
+                }
+                System.arraycopy(values, at + 1, values, at, count - at - 1);
+            }
+            case long[] words -> {
+                long bit = 1L << low;
+                if ((words[low >>> 6] & bit) == 0) {
+                    return false;
+                }
+                words[low >>> 6] &= ~bit;
+            }
+            default -> throw new IllegalStateException("Unknown bitmap chunk: " + chunks[high]);
+        }
+        counts[high]--;
+        cardinality--;
+        normalize(high);
+        return true;
+    }
+
+    boolean contains(int value) {
+        int high = value >>> 16;
+        if (high >= chunks.length) {
+            return false;
+        }
+        char low = (char) value;
+        return switch (chunks[high]) {
+            case null -> false;
+            case char[] values -> Arrays.binarySearch(values, 0, counts[high], low) >= 0;
+            case long[] words -> (words[low >>> 6] & (1L << low)) != 0;
+            default -> throw new IllegalStateException("Unknown bitmap chunk: " + chunks[high]);
+        };
+    }
+
+    long cardinality() {
+        return cardinality;
+    }
+
+    // Values in ascending order
+    void forEach(IntConsumer action) {
+        for (int high = 0; high < chunks.length; high++) {
+            int base = high << 16;
+            switch (chunks[high]) {
+                case null -> {
+                }
+                case char[] values -> {
+                    for (int i = 0; i < counts[high]; i++) {
+                        action.accept(base | values[i]);
+                    }
+                }
+                case long[] words -> {
+                    for (int w = 0; w < BITSET_WORDS; w++) {
+                        long word = words[w];
+                        while (word != 0) {
+                            action.accept(base | (w << 6) | Long.numberOfTrailingZeros(word));
+                            word &= word - 1;
+                        }
+                    }
+                }
+                default -> throw new IllegalStateException("Unknown bitmap chunk: " + chunks[high]);
+            }
+        }
+    }
+
+    // Values in ascending order until the action returns false; false if it stopped early
+    boolean forEachWhile(IntPredicate action) {
+        for (int high = 0; high < chunks.length; high++) {
+            int base = high << 16;
+            switch (chunks[high]) {
+                case null -> {
+                }
+                case char[] values -> {
+                    for (int i = 0; i < counts[high]; i++) {
+                        if (!action.test(base | values[i])) {
+                            return false;
+                        }
+                    }
+                }
+                case long[] words -> {
+                    for (int w = 0; w < BITSET_WORDS; w++) {
+                        long word = words[w];
+                        while (word != 0) {
+                            if (!action.test(base | (w << 6) | Long.numberOfTrailingZeros(word))) {
+                                return false;
+                            }
+                            word &= word - 1;
+                        }
+                    }
+                }
+                default -> throw new IllegalStateException("Unknown bitmap chunk: " + chunks[high]);
+            }
+        }
+        return true;
+    }
+
+    PropertyBitmap and(PropertyBitmap other) {
+        PropertyBitmap result = new PropertyBitmap();
+        int length = Math.min(chunks.length, other.chunks.length);
+        result.chunks = new Object[length];
+        result.counts = new int[length];
+        for (int high = 0; high < length; high++) {
+            Object left = chunks[high];
+            Object right = other.chunks[high];
+            if (left == null || right == null) {
+                continue;
+            }
+            if (left instanceof long[] leftWords && right instanceof long[] rightWords) {
+                long[] words = new long[BITSET_WORDS];
+                for (int w = 0; w < BITSET_WORDS; w++) {
+                    words[w] = leftWords[w] & rightWords[w];
+                }
+                result.setChunk(high, words, bitCount(words));
+            } else {
+                // Walk the array side, which holds at most ARRAY_LIMIT values
+                boolean leftIsArray = left instanceof char[];
+                char[] values = (char[]) (leftIsArray ? left : right);
+                int count = leftIsArray ? counts[high] : other.counts[high];
+                PropertyBitmap probe = leftIsArray ? other : this;
+                char[] common = new char[count];
+                int kept = 0;
+                for (int i = 0; i < count; i++) {
+                    if (probe.contains((high << 16) | values[i])) {
+                        common[kept++] = values[i];
+                    }
+                }
+                result.setChunk(high, common, kept);
+            }
+        }
+        return result;
+    }
+
+    PropertyBitmap or(PropertyBitmap other) {
+        PropertyBitmap result = new PropertyBitmap();
+        int length = Math.max(chunks.length, other.chunks.length);
+        result.chunks = new Object[length];
+        result.counts = new int[length];
+        for (int high = 0; high < length; high++) {
+            Object left = high < chunks.length ? chunks[high] : null;
+            Object right = high < other.chunks.length ? other.chunks[high] : null;
+            if (left == null && right == null) {
+                continue;
+            }
+            long[] words = new long[BITSET_WORDS];
+            orInto(words, left, high < counts.length ? counts[high] : 0);
+            orInto(words, right, high < other.counts.length ? other.counts[high] : 0);
+            result.setChunk(high, words, bitCount(words));
+        }
+        return result;
+    }
+
+    private void setChunk(int high, Object chunk, int count) {
+        chunks[high] = chunk;
+        counts[high] = count;
+        cardinality += count;
+        normalize(high);
+    }
+
+    // Keeps each chunk in its smaller form; bitsets go back to arrays only at half the limit, so a chunk hovering
+    // around ARRAY_LIMIT does not convert on every add and remove
+    private void normalize(int high) {
+        int count = counts[high];
+        if (count == 0) {
+            chunks[high] = null;
+        } else if (chunks[high] instanceof long[] words && count <= ARRAY_LIMIT / 2) {
+            char[] values = new char[count];
+            int i = 0;
+            for (int w = 0; w < BITSET_WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    values[i++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            chunks[high] = values;
+        } else if (chunks[high] instanceof char[] values && count > ARRAY_LIMIT) {
+            chunks[high] = toBitset(values, count);
+        }
+    }
+
+    private static void orInto(long[] words, Object chunk, int count) {
+        switch (chunk) {
+            case null -> {
+            }
+            case char[] values -> {
+                for (int i = 0; i < count; i++) {
+                    words[values[i] >>> 6] |= 1L << values[i];
+                }
+            }
+            case long[] other -> {
+                for (int w = 0; w < BITSET_WORDS; w++) {
+                    words[w] |= other[w];
+                }
+            }
+            default -> throw new IllegalStateException("Unknown bitmap chunk: " + chunk);
+        }
+    }
+
+    private static long[] toBitset(char[] values, int count) {
+        long[] words = new long[BITSET_WORDS];
+        orInto(words, values, count);
+        return words;
+    }
+
+    private static int bitCount(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
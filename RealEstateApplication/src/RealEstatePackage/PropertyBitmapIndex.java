@@ -0,0 +1,280 @@
+package RealEstatePackage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// One PropertyBitmap per PropertyStatus and per PropertyType, split into partitions by address hash so that
+// ConcurrentPropertyManager writers in different partitions never wait for each other: each partition has its own
+// lock, slots, bitmaps and address trigram index. Slots are handed out in insertion order within a partition and
+// each records a global insertion number, so the partitions' results merge back into insertion order, the order of
+// the snapshot. Slots of removed listings are not reused; once they outnumber a partition's live ones, that
+// partition alone renumbers its listings in order and rebuilds its bitmaps. The alphabetical address order for
+// prefix lookups is kept beside the partitions and must be safe on its own for the manager's writers.
+final class PropertyBitmapIndex {
+    private static final int MIN_COMPACTION_SLOTS = 4096;
+    private static final int MAX_PARTITIONS = 64;
+    private static final PropertyStatus[] STATUSES = PropertyStatus.values();
+    private static final PropertyType[] TYPES = PropertyType.values();
+
+    private final Partition[] partitions;
+    // A listing's slot field holds its slot in the partition above these bits and the partition below them
+    private final int partitionBits;
+    private final PropertyOrder<String> byAddress;
+    private final AtomicLong insertions = new AtomicLong();
+
+    // Partition count is rounded up to a power of two
+    PropertyBitmapIndex(PropertyOrder<String> addressOrder, int partitionCount) {
+        if (partitionCount < 1 || partitionCount > MAX_PARTITIONS) {
+            throw new IllegalArgumentException("Partition count out of range: " + partitionCount);
+        }
+        this.byAddress = addressOrder;
+        this.partitionBits = Integer.SIZE - Integer.numberOfLeadingZeros(partitionCount - 1);
+        this.partitions = new Partition[1 << partitionBits];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition(i, partitionBits);
+        }
+    }
+
+    // The key is the listing's normalized address
+    void add(Property property, String key) {
+        int hash = key.hashCode();
+        partitions[(hash ^ (hash >>> 16)) & (partitions.length - 1)].add(property, key, insertions.incrementAndGet());
+        byAddress.put(key, property);
+    }
+
+    void remove(Property property) {
+        byAddress.remove(partitionOf(property).remove(property));
+    }
+
+    void changeStatus(Property property, PropertyStatus oldStatus, PropertyStatus newStatus) {
+        partitionOf(property).changeStatus(property, oldStatus, newStatus);
+    }
+
+    List<Property> listings(PropertyStatus status) {
+        return collect(partition -> partition.byStatus[status.ordinal()]);
+    }
+
+    List<Property> listings(PropertyType type) {
+        return collect(partition -> partition.byType[type.ordinal()]);
+    }
+
+    // Listings whose type and status are both in the given sets, from one bitmap AND of two ORs per partition
+    List<Property> listings(Set<PropertyType> types, Set<PropertyStatus> statuses) {
+        return collect(partition -> partition.select(types, statuses));
+    }
+
+    // Up to limit listings whose normalized address starts with the normalized prefix, alphabetically
+    List<Property> addressesStartingWith(String prefix, int limit) {
+        List<Property> matches = new ArrayList<>(Math.min(limit, 64));
+        Iterator<Map.Entry<String, Property>> entries = byAddress.entries(prefix, true, prefix + Character.MAX_VALUE,
+                false, false);
+        while (matches.size() < limit && entries.hasNext()) {
+            matches.add(entries.next().getValue());
+        }
+        return matches;
+    }
+
+    List<Property> addressesContaining(String text, int limit) {
+        return containing(text, limit, _ -> false);
+    }
+
+    // Prefix matches alphabetically, then the other listings containing the text in insertion order
+    List<Property> addressesMatching(String text, int limit) {
+        List<Property> matches = addressesStartingWith(text, limit);
+        if (matches.size() < limit) {
+            matches.addAll(containing(text, limit - matches.size(), key -> key.startsWith(text)));
+        }
+        return matches;
+    }
+
+    private Partition partitionOf(Property property) {
+        return partitions[property.slot & (partitions.length - 1)];
+    }
+
+    private List<Property> collect(Function<Partition, PropertyBitmap> select) {
+        List<Run> runs = new ArrayList<>(partitions.length);
+        for (Partition partition : partitions) {
+            runs.add(partition.listings(select));
+        }
+        return merge(runs, Integer.MAX_VALUE);
+    }
+
+    // Each partition's first limit matches in its own insertion order, merged down to the first limit overall
+    private List<Property> containing(String text, int limit, Predicate<String> skip) {
+        List<Run> runs = new ArrayList<>(partitions.length);
+        for (Partition partition : partitions) {
+            runs.add(partition.containing(text, limit, skip));
+        }
+        return merge(runs, limit);
+    }
+
+    // Listings of one partition in slot order, with their insertion numbers
+    private record Run(long[] insertions, List<Property> listings) {
+    }
+
+    private static List<Property> merge(List<Run> runs, int limit) {
+        if (runs.size() == 1) {
+            return runs.getFirst().listings();
+        }
+        int total = 0;
+        // Position reached in each run, ordered by the insertion number found there
+        PriorityQueue<int[]> heads = new PriorityQueue<>(runs.size(),
+                Comparator.comparingLong(head -> runs.get(head[0]).insertions()[head[1]]));
+        for (int i = 0; i < runs.size(); i++) {
+            int size = runs.get(i).listings().size();
+            if (size > 0) {
+                heads.add(new int[]{i, 0});
+                total += size;
+            }
+        }
+        List<Property> merged = new ArrayList<>(Math.min(total, limit));
+        while (merged.size() < limit && !heads.isEmpty()) {
+            int[] head = heads.poll();
+            Run run = runs.get(head[0]);
+            merged.add(run.listings().get(head[1]));
+            if (++head[1] < run.listings().size()) {
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+
+    // Every method locks the partition, as ConcurrentPropertyManager writers to it may run at once
+    private static final class Partition {
+        private final int index;
+        private final int partitionBits;
+        private final PropertyBitmap[] byStatus = new PropertyBitmap[STATUSES.length];
+        private final PropertyBitmap[] byType = new PropertyBitmap[TYPES.length];
+        private final PropertyAddressIndex addresses = new PropertyAddressIndex();
+        private Property[] slots = new Property[64];
+        private long[] insertions = new long[64];
+        private int nextSlot;
+        private int live;
+
+        private Partition(int index, int partitionBits) {
+            this.index = index;
+            this.partitionBits = partitionBits;
+            clearBitmaps();
+        }
+
+        synchronized void add(Property property, String key, long insertion) {
+            if (nextSlot == slots.length) {
+                if (nextSlot - live > Math.max(live, MIN_COMPACTION_SLOTS)) {
+                    compact();
+                }
+                if (nextSlot == slots.length) {
+                    if (slots.length > Integer.MAX_VALUE >>> (partitionBits + 1)) {
+                        throw new IllegalStateException("Bitmap index partition is full: " + slots.length + " slots");
+                    }
+                    slots = Arrays.copyOf(slots, slots.length * 2);
+                    insertions = Arrays.copyOf(insertions, slots.length);
+                }
+            }
+            int slot = nextSlot++;
+            slots[slot] = property;
+            insertions[slot] = insertion;
+            property.slot = slot << partitionBits | index;
+            byStatus[property.getStatus().ordinal()].add(slot);
+            byType[property.getType().ordinal()].add(slot);
+            addresses.add(slot, key);
+            live++;
+        }
+
+        // Returns the listing's normalized address
+        synchronized String remove(Property property) {
+            int slot = property.slot >>> partitionBits;
+            slots[slot] = null;
+            property.slot = -1;
+            byStatus[property.getStatus().ordinal()].remove(slot);
+            byType[property.getType().ordinal()].remove(slot);
+            live--;
+            return addresses.remove(slot);
+        }
+
+        synchronized void changeStatus(Property property, PropertyStatus oldStatus, PropertyStatus newStatus) {
+            int slot = property.slot >>> partitionBits;
+            byStatus[oldStatus.ordinal()].remove(slot);
+            byStatus[newStatus.ordinal()].add(slot);
+        }
+
+        synchronized Run listings(Function<Partition, PropertyBitmap> select) {
+            PropertyBitmap selected = select.apply(this);
+            int count = (int) Math.min(selected.cardinality(), Integer.MAX_VALUE);
+            long[] order = new long[count];
+            List<Property> listings = new ArrayList<>(count);
+            selected.forEach(slot -> {
+                order[listings.size()] = insertions[slot];
+                listings.add(slots[slot]);
+            });
+            return new Run(order, listings);
+        }
+
+        synchronized Run containing(String text, int limit, Predicate<String> skip) {
+            List<Property> matches = addresses.containing(text, limit, slots, nextSlot, skip);
+            long[] order = new long[matches.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = insertions[matches.get(i).slot >>> partitionBits];
+            }
+            return new Run(order, matches);
+        }
+
+        // Called with the lock held
+        private PropertyBitmap select(Set<PropertyType> types, Set<PropertyStatus> statuses) {
+            PropertyBitmap byTypes = union(byType, TYPES, types);
+            PropertyBitmap byStatuses = union(byStatus, STATUSES, statuses);
+            if (byTypes == null) {
+                return byStatuses != null ? byStatuses : union(byStatus, STATUSES, Set.of(STATUSES));
+            }
+            return byStatuses == null ? byTypes : byTypes.and(byStatuses);
+        }
+
+        // Null when every value is selected, so the caller can skip that side of the AND
+        private static <E extends Enum<E>> PropertyBitmap union(PropertyBitmap[] bitmaps, E[] values, Set<E> selected) {
+            if (selected.size() == values.length) {
+                return null;
+            }
+            PropertyBitmap union = new PropertyBitmap();
+            for (E value : selected) {
+                union = union.or(bitmaps[value.ordinal()]);
+            }
+            return union;
+        }
+
+        private void compact() {
+            clearBitmaps();
+            int slot = 0;
+            for (int i = 0; i < nextSlot; i++) {
+                Property property = slots[i];
+                if (property != null) {
+                    slots[i] = null;
+                    slots[slot] = property;
+                    insertions[slot] = insertions[i];
+                    property.slot = slot << partitionBits | index;
+                    byStatus[property.getStatus().ordinal()].add(slot);
+                    byType[property.getType().ordinal()].add(slot);
+                    slot++;
+                }
+            }
+            nextSlot = slot;
+            addresses.renumber();
+        }
+
+        private void clearBitmaps() {
+            for (int i = 0; i < byStatus.length; i++) {
+                byStatus[i] = new PropertyBitmap();
+            }
+            for (int i = 0; i < byType.length; i++) {
+                byType[i] = new PropertyBitmap();
+            }
+        }
+    }
+}
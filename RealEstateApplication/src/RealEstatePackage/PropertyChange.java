@@ -0,0 +1,23 @@
+package RealEstatePackage;
+
+// One mutation published by a PropertyChangeFeed. Sequence numbers rise by one per change in the order the
+// manager applied them. Changes carry the values after the change, so applying one twice is harmless.
+public sealed interface PropertyChange {
+    long sequence();
+
+    String address();
+
+    record Added(long sequence, String address, PropertyType type, PropertyStatus status, double price)
+            implements PropertyChange {
+    }
+
+    record Removed(long sequence, String address) implements PropertyChange {
+    }
+
+    record PriceChanged(long sequence, String address, double oldPrice, double newPrice) implements PropertyChange {
+    }
+
+    record StatusChanged(long sequence, String address, PropertyStatus oldStatus, PropertyStatus newStatus)
+            implements PropertyChange {
+    }
+}
@@ -0,0 +1,308 @@
+package RealEstatePackage;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+// Change-data-capture feed of a PropertyManager: every add, remove and actual price or status change becomes a
+// PropertyChange, so systems such as search or notifications can follow the inventory instead of polling and
+// diffing getProperties(). The manager's writers only append the change to a ring buffer holding the most recent
+// ones; each subscriber reads from that buffer on a virtual thread of its own, as fast as it requests, so a slow
+// subscriber never holds up updatePropertyPrice or any other writer.
+//
+// Changes are delivered in micro-batches of up to maxBatch consecutive changes, and request(n) asks for n more
+// batches. A subscriber that has caught up waits up to the linger time for a batch to fill before it gets a
+// partial one. A subscriber that falls so far behind that changes it has not received yet were overwritten gets
+// onError with IllegalStateException and has to start over from the listings. subscribe(subscriber,
+// afterSequence) resumes after a change already received; to start from a copy of the listings, read
+// getLastSequence() before copying and subscribe after it.
+public final class PropertyChangeFeed implements Flow.Publisher<List<PropertyChange>>, AutoCloseable {
+    public static final int DEFAULT_RETAINED = 1 << 16;
+    public static final int DEFAULT_MAX_BATCH = 256;
+    public static final Duration DEFAULT_LINGER = Duration.ofMillis(1);
+
+    private final PropertyManager manager;
+    private final int maxBatch;
+    private final long lingerNanos;
+    // Change with sequence s is at s & mask while retained; guarded by itself, as is lastSequence
+    private final PropertyChange[] ring;
+    private final int mask;
+    private long lastSequence;
+    private volatile boolean closed;
+    private final List<ChangeSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final PropertyListener recorder = new PropertyListener() {
+        @Override
+        public void priceChanged(Property property, double oldPrice) {
+            double newPrice = property.getPrice();
+            if (Double.compare(oldPrice, newPrice) != 0) {
+                String address = property.getFullAddress();
+                publish(sequence -> new PropertyChange.PriceChanged(sequence, address, oldPrice, newPrice));
+            }
+        }
+
+        @Override
+        public void statusChanged(Property property, PropertyStatus oldStatus) {
+            PropertyStatus newStatus = property.getStatus();
+            if (oldStatus != newStatus) {
+                String address = property.getFullAddress();
+                publish(sequence -> new PropertyChange.StatusChanged(sequence, address, oldStatus, newStatus));
+            }
+        }
+
+        @Override
+        public void propertyAdded(Property property) {
+            String address = property.getFullAddress();
+            PropertyType type = property.getType();
+            PropertyStatus status = property.getStatus();
+            double price = property.getPrice();
+            publish(sequence -> new PropertyChange.Added(sequence, address, type, status, price));
+        }
+
+        @Override
+        public void propertyRemoved(Property property) {
+            String address = property.getFullAddress();
+            publish(sequence -> new PropertyChange.Removed(sequence, address));
+        }
+    };
+
+    private PropertyChangeFeed(PropertyManager manager, int retained, int maxBatch, Duration linger) {
+        this.manager = manager;
+        this.maxBatch = maxBatch;
+        this.lingerNanos = linger.toNanos();
+        this.ring = new PropertyChange[retained == 1 ? 1 : Integer.highestOneBit(retained - 1) << 1];
+        this.mask = ring.length - 1;
+    }
+
+    public static PropertyChangeFeed open(PropertyManager manager) {
+        return open(manager, DEFAULT_RETAINED, DEFAULT_MAX_BATCH, DEFAULT_LINGER);
+    }
+
+    // Publishes the manager's mutations from now until closed, keeping at least the last `retained` changes
+    public static PropertyChangeFeed open(PropertyManager manager, int retained, int maxBatch, Duration linger) {
+        if (manager == null) {
+            throw new IllegalArgumentException("PropertyManager cannot be null.");
+        }
+        if (retained < 1 || retained > 1 << 30) {
+            throw new IllegalArgumentException("Retained change count out of range: " + retained);
+        }
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1: " + maxBatch);
+        }
+        if (linger == null || linger.isNegative()) {
+            throw new IllegalArgumentException("Linger time cannot be null or negative: " + linger);
+        }
+        PropertyChangeFeed feed = new PropertyChangeFeed(manager, retained, maxBatch, linger);
+        manager.addMutationListener(feed.recorder);
+        return feed;
+    }
+
+    // Delivers the changes made after subscribing
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<PropertyChange>> subscriber) {
+        subscribe(subscriber, getLastSequence());
+    }
+
+    // Delivers the changes after the given sequence number, the last one the subscriber saw; 0 replays from the
+    // first change, if it is still retained
+    public void subscribe(Flow.Subscriber<? super List<PropertyChange>> subscriber, long afterSequence) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        long last = getLastSequence();
+        if (afterSequence < 0 || afterSequence > last) {
+            throw new IllegalArgumentException("Sequence " + afterSequence + " is outside 0.." + last);
+        }
+        ChangeSubscription subscription = new ChangeSubscription(subscriber, afterSequence + 1);
+        subscriptions.add(subscription);
+        subscription.signal();
+    }
+
+    public long getLastSequence() {
+        synchronized (ring) {
+            return lastSequence;
+        }
+    }
+
+    // The oldest change a subscriber can still resume from; older ones have been overwritten
+    public long getOldestRetainedSequence() {
+        synchronized (ring) {
+            return Math.max(1, lastSequence - ring.length + 1);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    // Stops recording; subscribers still receive the changes up to now, then onComplete
+    @Override
+    public void close() {
+        manager.removeMutationListener(recorder);
+        synchronized (ring) {
+            closed = true;
+        }
+        for (ChangeSubscription subscription : subscriptions) {
+            subscription.signal();
+        }
+    }
+
+    // Runs on the writer's thread, under whatever lock the manager holds for the mutation
+    private void publish(LongFunction<PropertyChange> change) {
+        synchronized (ring) {
+            if (closed) {
+                return;
+            }
+            long sequence = lastSequence + 1;
+            ring[(int) sequence & mask] = change.apply(sequence);
+            lastSequence = sequence;
+        }
+        for (ChangeSubscription subscription : subscriptions) {
+            subscription.changesArrived();
+        }
+    }
+
+    // Up to maxBatch changes from sequence next on, empty when there are none yet, or null when some were overwritten
+    private List<PropertyChange> read(long next) {
+        synchronized (ring) {
+            if (next <= lastSequence - ring.length) {
+                return null;
+            }
+            int count = (int) Math.min(maxBatch, lastSequence - next + 1);
+            List<PropertyChange> batch = new ArrayList<>(Math.max(count, 0));
+            for (long sequence = next; sequence < next + count; sequence++) {
+                batch.add(ring[(int) sequence & mask]);
+            }
+            return batch;
+        }
+    }
+
+    private final class ChangeSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super List<PropertyChange>> subscriber;
+        // Batches requested and not yet delivered
+        private final AtomicLong demand = new AtomicLong();
+        // Signals since the delivering thread last looked; only the signal that finds it at 0 starts a thread
+        private final AtomicInteger signals = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable failure;
+        // Touched only by the delivering thread
+        private long next;
+        private boolean started;
+        private boolean lingered;
+
+        private ChangeSubscription(Flow.Subscriber<? super List<PropertyChange>> subscriber, long next) {
+            this.subscriber = subscriber;
+            this.next = next;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                failure = new IllegalArgumentException("Requested batch count must be positive: " + n);
+            } else {
+                demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        // Writers skip subscribers that asked for nothing, so a stalled subscriber costs them no thread starts
+        private void changesArrived() {
+            if (demand.get() > 0) {
+                signal();
+            }
+        }
+
+        private void signal() {
+            if (signals.getAndIncrement() == 0) {
+                Thread.ofVirtual().name("property-changes").start(this::deliver);
+            }
+        }
+
+        private void deliver() {
+            int missed = 1;
+            do {
+                if (!started) {
+                    started = true;
+                    if (!call(() -> subscriber.onSubscribe(this))) {
+                        return;
+                    }
+                }
+                while (!cancelled) {
+                    Throwable error = failure;
+                    if (error != null) {
+                        cancel();
+                        call(() -> subscriber.onError(error));
+                        return;
+                    }
+                    // Read before the changes: once closed no more arrive, so catching up means done
+                    boolean done = closed;
+                    if (demand.get() == 0) {
+                        if (done && getLastSequence() < next) {
+                            complete();
+                        }
+                        break;
+                    }
+                    List<PropertyChange> batch = read(next);
+                    if (batch == null) {
+                        failure = new IllegalStateException(
+                                "Changes after sequence " + (next - 1) + " are no longer retained");
+                        continue;
+                    }
+                    if (batch.isEmpty()) {
+                        if (done) {
+                            complete();
+                        }
+                        break;
+                    }
+                    // Starting a thread per change would cost writers more than the changes themselves
+                    if (batch.size() < maxBatch && !done && lingerNanos > 0 && !lingered) {
+                        lingered = true;
+                        LockSupport.parkNanos(lingerNanos);
+                        continue;
+                    }
+                    lingered = false;
+                    next += batch.size();
+                    demand.decrementAndGet();
+                    if (!call(() -> subscriber.onNext(batch))) {
+                        return;
+                    }
+                }
+                missed = signals.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void complete() {
+            cancel();
+            call(subscriber::onComplete);
+        }
+
+        // A subscriber that throws is cancelled; the feed and the other subscribers carry on. An Error is rethrown
+        // once the subscription is cancelled, so it still reaches the delivery thread's uncaught exception handler
+        private boolean call(Runnable signal) {
+            try {
+                signal.run();
+                return true;
+            } catch (RuntimeException e) {
+                cancel();
+                PropertyEvents.publish(LogLevel.ERROR,
+                        "Error at method deliver(): Change subscriber failed and was cancelled: " + e);
+                return false;
+            } catch (Error e) {
+                cancel();
+                PropertyEvents.publish(LogLevel.ERROR,
+                        "Error at method deliver(): Change subscriber failed and was cancelled: " + e);
+                throw e;
+            }
+        }
+    }
+}
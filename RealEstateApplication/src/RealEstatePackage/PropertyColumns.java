@@ -0,0 +1,423 @@
+package RealEstatePackage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+// Struct-of-arrays storage for the listings of a ColumnarPropertyManager: one primitive array per field, indexed
+// by row, with addresses as UTF-8 bytes in one shared pool and business types dictionary-encoded. Rows are
+// appended in insertion order and also looked up by address through an open-addressing table of row numbers, so
+// the columns double as the manager's address index without an entry object per listing. Removed rows are
+// squeezed out, with their addresses, once they make up more than half of either. Not thread-safe, like
+// PropertyManager.
+final class PropertyColumns {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final PropertyType[] TYPES = PropertyType.values();
+    private static final PropertyStatus[] STATUSES = PropertyStatus.values();
+
+    private double[] prices = new double[INITIAL_CAPACITY];
+    private byte[] statuses = new byte[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private long[] addedNanos = new long[INITIAL_CAPACITY];
+    // Bedrooms of a residential listing, or the code of a commercial one's business type (-1 for none)
+    private int[] attributes = new int[INITIAL_CAPACITY];
+    private int[] addressOffsets = new int[INITIAL_CAPACITY];
+    private int[] addressLengths = new int[INITIAL_CAPACITY];
+    // The Property viewing each row; null once removed
+    private Property[] views = new Property[INITIAL_CAPACITY];
+    private byte[] addressPool = new byte[INITIAL_CAPACITY * 16];
+    private int addressPoolSize;
+    private int addressPoolGarbage;
+    private int rowLimit;
+    private int removedRows;
+    // Row + 1 of each listing, by normalized address with linear probing; 0 is empty, and at most half is used
+    private int[] addressTable = new int[INITIAL_CAPACITY * 2];
+    private final List<String> businessTypes = new ArrayList<>();
+    private final Map<String, Integer> businessTypeCodes = new HashMap<>();
+    private final Listings listings = new Listings();
+
+    // Copies the listing's current values into a new row and returns it
+    int add(Property property) {
+        String address = property.getFullAddress();
+        byte[] bytes = address.getBytes(StandardCharsets.UTF_8);
+        long added = PropertySnapshotFile.toEpochNanos(property.getAddedDate());
+        // Either may compact, which must happen before the new row is taken
+        ensurePoolCapacity(bytes.length);
+        int row = nextRow();
+        prices[row] = property.getPrice();
+        statuses[row] = (byte) property.getStatus().ordinal();
+        types[row] = (byte) property.getType().ordinal();
+        addedNanos[row] = added;
+        attributes[row] = switch (property) {
+            case ResidentialProperty residential -> residential.getBedrooms();
+            case CommercialProperty commercial -> businessTypeCode(commercial.getBusinessType());
+        };
+        System.arraycopy(bytes, 0, addressPool, addressPoolSize, bytes.length);
+        addressOffsets[row] = addressPoolSize;
+        addressLengths[row] = bytes.length;
+        addressPoolSize += bytes.length;
+        views[row] = property;
+        if ((rowLimit - removedRows) * 2L > addressTable.length) {
+            rebuildAddressTable(addressTable.length * 2);
+        } else {
+            insertAddress(row);
+        }
+        return row;
+    }
+
+    void remove(int row) {
+        deleteAddress(row);
+        views[row] = null;
+        removedRows++;
+        addressPoolGarbage += addressLengths[row];
+    }
+
+    // The listings by normalized address in insertion order; used as ColumnarPropertyManager's address index
+    Map<String, Property> listings() {
+        return listings;
+    }
+
+    double price(int row) {
+        return prices[row];
+    }
+
+    void setPrice(int row, double price) {
+        prices[row] = price;
+    }
+
+    PropertyStatus status(int row) {
+        return STATUSES[statuses[row]];
+    }
+
+    void setStatus(int row, PropertyStatus status) {
+        statuses[row] = (byte) status.ordinal();
+    }
+
+    PropertyType type(int row) {
+        return TYPES[types[row]];
+    }
+
+    LocalDateTime addedDate(int row) {
+        return PropertySnapshotFile.fromEpochNanos(addedNanos[row]);
+    }
+
+    int bedrooms(int row) {
+        return attributes[row];
+    }
+
+    String businessType(int row) {
+        return attributes[row] < 0 ? null : businessTypes.get(attributes[row]);
+    }
+
+    String address(int row) {
+        return new String(addressPool, addressOffsets[row], addressLengths[row], StandardCharsets.UTF_8);
+    }
+
+    // Prices of the listings of one type and status, read straight from the columns
+    DoubleSummaryStatistics priceStatistics(PropertyType type, PropertyStatus status) {
+        DoubleSummaryStatistics statistics = new DoubleSummaryStatistics();
+        byte typeCode = (byte) type.ordinal();
+        byte statusCode = (byte) status.ordinal();
+        for (int row = 0; row < rowLimit; row++) {
+            if (types[row] == typeCode && statuses[row] == statusCode && views[row] != null) {
+                statistics.accept(prices[row]);
+            }
+        }
+        return statistics;
+    }
+
+    private int businessTypeCode(String businessType) {
+        if (businessType == null) {
+            return -1;
+        }
+        return businessTypeCodes.computeIfAbsent(businessType, _ -> {
+            businessTypes.add(businessType);
+            return businessTypes.size() - 1;
+        });
+    }
+
+    private int nextRow() {
+        if (rowLimit == prices.length) {
+            if (removedRows > rowLimit / 2) {
+                compact();
+            } else {
+                int capacity = grow(prices.length);
+                prices = Arrays.copyOf(prices, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+                types = Arrays.copyOf(types, capacity);
+                addedNanos = Arrays.copyOf(addedNanos, capacity);
+                attributes = Arrays.copyOf(attributes, capacity);
+                addressOffsets = Arrays.copyOf(addressOffsets, capacity);
+                addressLengths = Arrays.copyOf(addressLengths, capacity);
+                views = Arrays.copyOf(views, capacity);
+            }
+        }
+        return rowLimit++;
+    }
+
+    private static int grow(int capacity) {
+        long grown = capacity + (long) (capacity >> 1);
+        if (grown > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Property columns are full: " + capacity + " rows");
+        }
+        return (int) grown;
+    }
+
+    private void ensurePoolCapacity(int bytes) {
+        if (addressPoolSize + bytes <= addressPool.length) {
+            return;
+        }
+        if (addressPoolGarbage > addressPoolSize / 2) {
+            compact();
+            if (addressPoolSize + bytes <= addressPool.length) {
+                return;
+            }
+        }
+        long capacity = Math.max(addressPool.length + (addressPool.length >> 1), (long) addressPoolSize + bytes);
+        if (capacity > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Address pool is full: " + addressPoolSize + " bytes");
+        }
+        addressPool = Arrays.copyOf(addressPool, (int) capacity);
+    }
+
+    // Slides live rows down over removed ones, and their addresses over removed addresses. Rows are appended in
+    // order and addresses with them, so both keep their order and nothing needs sorting
+    private void compact() {
+        int live = 0;
+        int poolSize = 0;
+        for (int row = 0; row < rowLimit; row++) {
+            Property view = views[row];
+            if (view == null) {
+                continue;
+            }
+            int offset = addressOffsets[row];
+            int length = addressLengths[row];
+            System.arraycopy(addressPool, offset, addressPool, poolSize, length);
+            if (row != live) {
+                prices[live] = prices[row];
+                statuses[live] = statuses[row];
+                types[live] = types[row];
+                addedNanos[live] = addedNanos[row];
+                attributes[live] = attributes[row];
+                views[live] = view;
+                view.relocate(live);
+            }
+            addressOffsets[live] = poolSize;
+            addressLengths[live] = length;
+            poolSize += length;
+            live++;
+        }
+        Arrays.fill(views, live, rowLimit, null);
+        rowLimit = live;
+        removedRows = 0;
+        addressPoolSize = poolSize;
+        addressPoolGarbage = 0;
+        rebuildAddressTable(addressTable.length);
+    }
+
+    private void rebuildAddressTable(int capacity) {
+        addressTable = new int[capacity];
+        for (int row = 0; row < rowLimit; row++) {
+            if (views[row] != null) {
+                insertAddress(row);
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private void insertAddress(int row) {
+        int mask = addressTable.length - 1;
+        int slot = spread(keyHash(row)) & mask;
+        while (addressTable[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        addressTable[slot] = row + 1;
+    }
+
+    // Table slot holding the listing with the given normalized address, or -1
+    private int findAddress(String key) {
+        int mask = addressTable.length - 1;
+        for (int slot = spread(key.hashCode()) & mask; addressTable[slot] != 0; slot = (slot + 1) & mask) {
+            int row = addressTable[slot] - 1;
+            if (compareKey(row, key) == 0) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    // Empties the row's slot and moves later entries of its probe run back, so lookups need no tombstones
+    private void deleteAddress(int row) {
+        int mask = addressTable.length - 1;
+        int hole = spread(keyHash(row)) & mask;
+        while (addressTable[hole] != row + 1) {
+            hole = (hole + 1) & mask;
+        }
+        for (int slot = (hole + 1) & mask; addressTable[slot] != 0; slot = (slot + 1) & mask) {
+            int home = spread(keyHash(addressTable[slot] - 1)) & mask;
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                addressTable[hole] = addressTable[slot];
+                hole = slot;
+            }
+        }
+        addressTable[hole] = 0;
+    }
+
+    // Compares the row's normalized address with a key like String.compareTo. Lower-casing only maps ASCII
+    // letters to ASCII letters, so ASCII addresses are compared, and hashed below, where they lie in the pool
+    int compareKey(int row, String key) {
+        int offset = addressOffsets[row];
+        int length = addressLengths[row];
+        for (int i = 0; i < length; i++) {
+            int c = addressPool[offset + i];
+            if (c < 0) {
+                return PropertyManager.normalizeAddress(address(row)).compareTo(key);
+            }
+            if (i == key.length()) {
+                return 1;
+            }
+            int order = lowerCase(c) - key.charAt(i);
+            if (order != 0) {
+                return order;
+            }
+        }
+        return length - key.length();
+    }
+
+    // String.hashCode() of the row's normalized address
+    private int keyHash(int row) {
+        int offset = addressOffsets[row];
+        int hash = 0;
+        for (int i = 0; i < addressLengths[row]; i++) {
+            int c = addressPool[offset + i];
+            if (c < 0) {
+                return PropertyManager.normalizeAddress(address(row)).hashCode();
+            }
+            hash = 31 * hash + lowerCase(c);
+        }
+        return hash;
+    }
+
+    private static int lowerCase(int c) {
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+
+    // putIfAbsent moves a new listing into a row and remove takes it back out, so the map and the rows stay one.
+    // Iterates in insertion order; put and iterator removal are not supported.
+    private final class Listings extends AbstractMap<String, Property> {
+        private final Collection<Property> values = new AbstractCollection<>() {
+            @Override
+            public Iterator<Property> iterator() {
+                return new RowIterator<>(row -> views[row]);
+            }
+
+            @Override
+            public int size() {
+                return Listings.this.size();
+            }
+        };
+        private final Set<Entry<String, Property>> entries = new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Property>> iterator() {
+                return new RowIterator<>(row -> new SimpleImmutableEntry<>(
+                        PropertyManager.normalizeAddress(address(row)), views[row]));
+            }
+
+            @Override
+            public int size() {
+                return Listings.this.size();
+            }
+        };
+
+        @Override
+        public Property get(Object key) {
+            int slot = key instanceof String address ? findAddress(address) : -1;
+            return slot < 0 ? null : views[addressTable[slot] - 1];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String address && findAddress(address) >= 0;
+        }
+
+        @Override
+        public Property putIfAbsent(String key, Property property) {
+            Property existing = get(key);
+            if (existing == null) {
+                property.moveTo(PropertyColumns.this);
+            }
+            return existing;
+        }
+
+        @Override
+        public Property remove(Object key) {
+            Property property = get(key);
+            if (property != null) {
+                property.detach();
+            }
+            return property;
+        }
+
+        @Override
+        public int size() {
+            return rowLimit - removedRows;
+        }
+
+        @Override
+        public Collection<Property> values() {
+            return values;
+        }
+
+        @Override
+        public Set<Entry<String, Property>> entrySet() {
+            return entries;
+        }
+    }
+
+    private final class RowIterator<T> implements Iterator<T> {
+        private final IntFunction<T> element;
+        private int next = skipRemoved(0);
+
+        private RowIterator(IntFunction<T> element) {
+            this.element = element;
+        }
+
+        private int skipRemoved(int row) {
+            while (row < rowLimit && views[row] == null) {
+                row++;
+            }
+            return row;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < rowLimit;
+        }
+
+        @Override
+        public T next() {
+            if (next >= rowLimit) {
+                throw new NoSuchElementException();
+            }
+            T value = element.apply(next);
+            next = skipRemoved(next + 1);
+            return value;
+        }
+    }
+}
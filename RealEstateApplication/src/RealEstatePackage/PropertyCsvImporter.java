@@ -0,0 +1,373 @@
+package RealEstatePackage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Streams a CSV listing feed into a PropertyManager. The first line names the columns (any order, case-insensitive):
+//   type, address, price             required; type is RESIDENTIAL or COMMERCIAL
+//   status, bedrooms, business_type  optional; status defaults to AVAILABLE
+//   added                            optional ISO-8601 date-time; defaults to the time of import
+// Fields may be double-quoted to hold commas, with "" for a literal quote; a record must fit on one line.
+// Lines are read in batches that worker threads parse and validate in parallel, while the calling thread adds
+// finished batches to the manager in file order. At most two batches per worker are held at once, so memory
+// stays bounded however long the feed is. Bad rows are counted and skipped rather than ending the import.
+public final class PropertyCsvImporter {
+    public static final int DEFAULT_BATCH_SIZE = 10_000;
+    public static final int MAX_REJECTED_SAMPLES = 1_000;
+
+    private final int batchSize;
+    private final int parallelism;
+
+    public PropertyCsvImporter() {
+        this(DEFAULT_BATCH_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    public PropertyCsvImporter(int batchSize, int parallelism) {
+        if (batchSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Batch size and parallelism must be positive.");
+        }
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+    }
+
+    public record RejectedRow(long lineNumber, String line, String reason) {
+    }
+
+    // rejectedSamples holds the first MAX_REJECTED_SAMPLES rejections; rowsRejected counts all of them
+    public record ImportReport(long rowsRead, long rowsImported, long rowsRejected, List<RejectedRow> rejectedSamples,
+                               Duration elapsed) {
+        public double rowsPerSecond() {
+            return elapsed.isZero() ? 0 : rowsRead * 1e9 / elapsed.toNanos();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Read %d rows, imported %d, rejected %d in %d ms (%.0f rows/s)",
+                    rowsRead, rowsImported, rowsRejected, elapsed.toMillis(), rowsPerSecond());
+        }
+    }
+
+    public ImportReport importFile(Path csv, PropertyManager manager) throws IOException {
+        try (Reader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            return importFrom(reader, manager);
+        }
+    }
+
+    public ImportReport importFrom(Reader reader, PropertyManager manager) throws IOException {
+        long start = System.nanoTime();
+        Progress progress = new Progress(start);
+        BufferedReader in = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 1 << 16);
+        String header = in.readLine();
+        if (header == null) {
+            return progress.report();
+        }
+        Columns columns = Columns.parse(header);
+
+        ExecutorService parsers = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("property-import-", 0).daemon().factory());
+        Deque<Future<ParsedBatch>> inFlight = new ArrayDeque<>();
+        try {
+            long lineNumber = 1;
+            List<String> lines = new ArrayList<>(batchSize);
+            String line;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                lines.add(line);
+                if (lines.size() == batchSize) {
+                    List<String> batch = lines;
+                    long firstLine = lineNumber - batch.size() + 1;
+                    inFlight.add(parsers.submit(() -> ParsedBatch.parse(batch, firstLine, columns)));
+                    lines = new ArrayList<>(batchSize);
+                    if (inFlight.size() >= parallelism * 2) {
+                        progress.insert(await(inFlight.removeFirst()), manager);
+                    }
+                }
+            }
+            if (!lines.isEmpty()) {
+                List<String> batch = lines;
+                long firstLine = lineNumber - lines.size() + 1;
+                inFlight.add(parsers.submit(() -> ParsedBatch.parse(batch, firstLine, columns)));
+            }
+            while (!inFlight.isEmpty()) {
+                progress.insert(await(inFlight.removeFirst()), manager);
+            }
+        } finally {
+            for (Future<ParsedBatch> pending : inFlight) {
+                pending.cancel(true);
+            }
+            parsers.shutdown();
+        }
+        return progress.report();
+    }
+
+    private static ParsedBatch await(Future<ParsedBatch> batch) throws IOException {
+        try {
+            return batch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException("Error parsing listing feed", e.getCause());
+        }
+    }
+
+    // Running totals, updated by the calling thread only
+    private static final class Progress {
+        private final long start;
+        private final List<RejectedRow> rejectedSamples = new ArrayList<>();
+        private long rowsRead;
+        private long rowsImported;
+        private long rowsRejected;
+
+        private Progress(long start) {
+            this.start = start;
+        }
+
+        private void insert(ParsedBatch batch, PropertyManager manager) {
+            rowsRead += batch.rows;
+            for (RejectedRow rejected : batch.rejected) {
+                reject(rejected);
+            }
+            List<PropertyResult> results = manager.tryAddProperties(batch.properties);
+            for (int i = 0; i < results.size(); i++) {
+                switch (results.get(i)) {
+                    case PropertyResult.Success _ -> rowsImported++;
+                    case PropertyResult.NotFound notFound ->
+                            reject(batch.rejection(i, "Property not found: " + notFound.address()));
+                    case PropertyResult.Rejected rejected -> reject(batch.rejection(i, rejected.reason()));
+                }
+            }
+            if (PropertyEvents.isEnabled(LogLevel.INFO)) {
+                PropertyEvents.publish(LogLevel.INFO, "Import progress: " + report());
+            }
+        }
+
+        private void reject(RejectedRow row) {
+            rowsRejected++;
+            if (rejectedSamples.size() < MAX_REJECTED_SAMPLES) {
+                rejectedSamples.add(row);
+            }
+            if (PropertyEvents.isEnabled(LogLevel.WARN)) {
+                PropertyEvents.publish(LogLevel.WARN, "Rejected line " + row.lineNumber() + ": " + row.reason());
+            }
+        }
+
+        private ImportReport report() {
+            return new ImportReport(rowsRead, rowsImported, rowsRejected, List.copyOf(rejectedSamples),
+                    Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    // Column positions from the header line; -1 for an optional column the feed does not have
+    private record Columns(int count, int type, int address, int price, int status, int bedrooms, int businessType,
+                           int added) {
+        static Columns parse(String header) throws IOException {
+            List<String> names = new ArrayList<>();
+            if (!splitFields(header, names)) {
+                throw new IOException("Malformed CSV header: " + header);
+            }
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                positions.putIfAbsent(names.get(i).strip().toLowerCase(Locale.ROOT), i);
+            }
+            for (String required : List.of("type", "address", "price")) {
+                if (!positions.containsKey(required)) {
+                    throw new IOException("CSV header is missing the " + required + " column: " + header);
+                }
+            }
+            return new Columns(names.size(), positions.get("type"), positions.get("address"), positions.get("price"),
+                    positions.getOrDefault("status", -1), positions.getOrDefault("bedrooms", -1),
+                    positions.getOrDefault("business_type", -1), positions.getOrDefault("added", -1));
+        }
+    }
+
+    // One batch of lines after parsing: the listings that passed validation, and the rows that did not
+    private static final class ParsedBatch {
+        private final List<String> lines;
+        private final long firstLine;
+        private final List<Property> properties = new ArrayList<>();
+        private final List<Integer> propertyIndexes = new ArrayList<>();
+        private final List<RejectedRow> rejected = new ArrayList<>();
+        private int rows;
+
+        private ParsedBatch(List<String> lines, long firstLine) {
+            this.lines = lines;
+            this.firstLine = firstLine;
+        }
+
+        private RejectedRow rejection(int property, String reason) {
+            int index = propertyIndexes.get(property);
+            return new RejectedRow(firstLine + index, lines.get(index), reason);
+        }
+
+        static ParsedBatch parse(List<String> lines, long firstLine, Columns columns) {
+            ParsedBatch batch = new ParsedBatch(lines, firstLine);
+            LocalDateTime now = LocalDateTime.now();
+            // Everything but the price check first, so prices can then be validated as one batch
+            List<String[]> rows = new ArrayList<>(lines.size());
+            double[] prices = new double[lines.size()];
+            int[] indexes = new int[lines.size()];
+            List<String> fields = new ArrayList<>(columns.count());
+            for (int i = 0; i < lines.size(); i++) {
+                String line = lines.get(i);
+                if (line.isBlank()) {
+                    continue;
+                }
+                batch.rows++;
+                fields.clear();
+                String reason = !splitFields(line, fields) ? "Unterminated quoted field"
+                        : fields.size() != columns.count() ? "Expected " + columns.count() + " fields but found " + fields.size()
+                        : null;
+                if (reason == null) {
+                    try {
+                        prices[rows.size()] = Double.parseDouble(fields.get(columns.price()).strip());
+                        if (!Double.isFinite(prices[rows.size()])) {
+                            reason = "Invalid price: " + fields.get(columns.price());
+                        }
+                    } catch (NumberFormatException e) {
+                        reason = "Invalid price: " + fields.get(columns.price());
+                    }
+                }
+                if (reason != null) {
+                    batch.rejected.add(new RejectedRow(firstLine + i, line, reason));
+                    continue;
+                }
+                indexes[rows.size()] = i;
+                rows.add(fields.toArray(String[]::new));
+            }
+
+            BitSet invalid = PropertyManagement.validatePricesBeforeUpdate(prices, rows.size());
+            for (int row = 0; row < rows.size(); row++) {
+                int index = indexes[row];
+                if (invalid.get(row)) {
+                    batch.rejected.add(new RejectedRow(firstLine + index, lines.get(index),
+                            PropertyManagement.priceRejection(prices[row])));
+                    continue;
+                }
+                try {
+                    batch.properties.add(toProperty(rows.get(row), prices[row], columns, now));
+                    batch.propertyIndexes.add(index);
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    batch.rejected.add(new RejectedRow(firstLine + index, lines.get(index), e.getMessage()));
+                }
+            }
+            return batch;
+        }
+
+        private static Property toProperty(String[] fields, double price, Columns columns, LocalDateTime now) {
+            String address = fields[columns.address()].strip();
+            if (address.isEmpty()) {
+                throw new IllegalArgumentException("Address cannot be null or empty.");
+            }
+            LocalDateTime addedDate = optional(fields, columns.added()) == null
+                    ? now : LocalDateTime.parse(fields[columns.added()].strip());
+            if (!PropertySnapshotFile.isStorable(addedDate)) {
+                throw new IllegalArgumentException("Added date out of the storable range 1677-09-21 to 2262-04-11: "
+                        + addedDate);
+            }
+            // The batch already validated the price
+            Property property = switch (fields[columns.type()].strip().toUpperCase(Locale.ROOT)) {
+                case "RESIDENTIAL" -> new ResidentialProperty(address, price, bedrooms(fields, columns), addedDate, true);
+                case "COMMERCIAL" -> new CommercialProperty(address, price, optional(fields, columns.businessType()),
+                        addedDate, true);
+                default -> throw new IllegalArgumentException("Unknown property type: " + fields[columns.type()]);
+            };
+            String status = optional(fields, columns.status());
+            if (status != null) {
+                PropertyStatus value;
+                try {
+                    value = PropertyStatus.valueOf(status.toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown property status: " + status);
+                }
+                if (value != PropertyStatus.AVAILABLE) {
+                    property.updateStatus(value);
+                }
+            }
+            return property;
+        }
+
+        private static int bedrooms(String[] fields, Columns columns) {
+            String value = optional(fields, columns.bedrooms());
+            try {
+                int bedrooms = value == null ? 0 : Integer.parseInt(value);
+                if (bedrooms < 0) {
+                    throw new IllegalArgumentException("Bedrooms cannot be negative: " + value);
+                }
+                return bedrooms;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid bedrooms: " + value);
+            }
+        }
+
+        // A stripped field, or null when the column is absent or the field is blank
+        private static String optional(String[] fields, int column) {
+            if (column < 0 || fields[column].isBlank()) {
+                return null;
+            }
+            return fields[column].strip();
+        }
+    }
+
+    // Splits one CSV record into fields; returns false if a quoted field is not closed before the end of the line
+    static boolean splitFields(String line, List<String> fields) {
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        while (true) {
+            field.setLength(0);
+            if (i < line.length() && line.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= line.length()) {
+                        return false;
+                    }
+                    char c = line.charAt(i++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                // Anything between the closing quote and the next comma is kept as is
+                while (i < line.length() && line.charAt(i) != ',') {
+                    field.append(line.charAt(i++));
+                }
+            } else {
+                int end = line.indexOf(',', i);
+                end = end < 0 ? line.length() : end;
+                field.append(line, i, end);
+                i = end;
+            }
+            fields.add(field.toString());
+            if (i >= line.length()) {
+                return true;
+            }
+            i++; // Skip the comma
+        }
+    }
+}
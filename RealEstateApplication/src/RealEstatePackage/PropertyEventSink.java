@@ -0,0 +1,24 @@
+package RealEstatePackage;
+
+// Destination for the events PropertyManager and Property publish through PropertyEvents
+public interface PropertyEventSink extends AutoCloseable {
+    PropertyEventSink NONE = new PropertyEventSink() {
+        @Override
+        public boolean isEnabled(LogLevel level) {
+            return false;
+        }
+
+        @Override
+        public void publish(LogLevel level, String message) {
+        }
+    };
+
+    // Checked before a message is built, so filtered-out events cost no string formatting
+    boolean isEnabled(LogLevel level);
+
+    void publish(LogLevel level, String message);
+
+    @Override
+    default void close() {
+    }
+}
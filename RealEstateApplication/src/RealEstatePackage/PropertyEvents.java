@@ -0,0 +1,25 @@
+package RealEstatePackage;
+
+// Process-wide event sink; a no-op until the application installs one
+public final class PropertyEvents {
+    private static volatile PropertyEventSink sink = PropertyEventSink.NONE;
+
+    private PropertyEvents() {
+    }
+
+    public static PropertyEventSink getSink() {
+        return sink;
+    }
+
+    public static void setSink(PropertyEventSink newSink) {
+        sink = newSink == null ? PropertyEventSink.NONE : newSink;
+    }
+
+    static boolean isEnabled(LogLevel level) {
+        return sink.isEnabled(level);
+    }
+
+    static void publish(LogLevel level, String message) {
+        sink.publish(level, message);
+    }
+}
@@ -0,0 +1,433 @@
+package RealEstatePackage;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+// HTTP/JSON front end over a PropertyManager and its PropertyAnalyzer, on the JDK's built-in server with one
+// virtual thread per request, so thousands of open requests cost a few kilobytes each instead of a platform thread.
+// Reads run on the request thread; price and status updates go through a PropertyWriteBatcher. A plain
+// PropertyManager is guarded by a read-write lock that requests share and the writer takes once per batch; a
+// ConcurrentPropertyManager needs none. Parameters come from the query string, or a form body for POSTs.
+//
+//   GET  /properties?address=               one listing
+//   GET  /properties/price-range?min=&max=&limit=
+//   GET  /properties/autocomplete?q=&limit=
+//   POST /properties/price?address=&price=
+//   POST /properties/status?address=&status=
+//   GET  /analytics/summary                 counts, price statistics, cheapest and most expensive
+//   GET  /analytics/cheapest?count=         also /analytics/most-expensive
+//   GET  /analytics/price-drops?percent=&days=&limit=
+//   GET  /metrics                           PropertyMetrics.dump(), write batcher and analyzer cache counters
+public final class PropertyHttpService implements Closeable {
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int BACKLOG = 4096;
+
+    static {
+        // Both are read when the JDK server classes load, so they are set first unless given on the command line.
+        // The server writes headers and body separately, and with Nagle's algorithm on each small response then
+        // waits ~40 ms for the client's delayed ACK. It also closes keep-alive connections beyond 200 idle ones,
+        // which makes most of a thousand clients reconnect for every request.
+        setDefault("sun.net.httpserver.nodelay", "true");
+        setDefault("sun.net.httpserver.maxIdleConnections", "16384");
+    }
+
+    private final PropertyManager manager;
+    private final PropertyAnalyzer analyzer;
+    // Null for a ConcurrentPropertyManager
+    private final ReentrantReadWriteLock lock;
+    private final PropertyWriteBatcher writes;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpServer server;
+
+    private PropertyHttpService(PropertyManager manager, InetSocketAddress address) throws IOException {
+        this.manager = manager;
+        this.analyzer = new PropertyAnalyzer(manager);
+        this.lock = manager instanceof ConcurrentPropertyManager ? null : new ReentrantReadWriteLock();
+        this.writes = new PropertyWriteBatcher(manager, lock == null ? null : lock.writeLock(),
+                PropertyWriteBatcher.DEFAULT_CAPACITY);
+        this.server = HttpServer.create(address, BACKLOG);
+        server.setExecutor(executor);
+        server.createContext("/properties", route(this::properties));
+        server.createContext("/analytics", route(this::analytics));
+        server.createContext("/metrics", route(this::metrics));
+    }
+
+    private static void setDefault(String property, String value) {
+        if (System.getProperty(property) == null) {
+            System.setProperty(property, value);
+        }
+    }
+
+    // Port 0 picks a free port; see getPort()
+    public static PropertyHttpService start(PropertyManager manager, int port) throws IOException {
+        if (manager == null) {
+            throw new IllegalArgumentException("Property manager cannot be null.");
+        }
+        PropertyHttpService service = new PropertyHttpService(manager, new InetSocketAddress(port));
+        service.server.start();
+        return service;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // Stops accepting requests, gives open ones a second to finish, then stops the writer
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.close();
+        writes.close();
+    }
+
+    private Response properties(String method, String path, Map<String, String> params) {
+        return switch (path) {
+            case "/properties" -> {
+                requireMethod(method, "GET");
+                String address = required(params, "address");
+                yield read(() -> manager.findProperty(address))
+                        .map(property -> Response.json(200, property(property)))
+                        .orElseGet(() -> Response.error(404, "Property not found: " + address));
+            }
+            case "/properties/price-range" -> {
+                requireMethod(method, "GET");
+                double min = number(params, "min");
+                double max = number(params, "max");
+                int limit = limit(params, "limit", DEFAULT_LIMIT);
+                yield Response.json(200, properties(read(() -> manager.findPropertiesInPriceRange(min, max, limit)),
+                        limit));
+            }
+            case "/properties/autocomplete" -> {
+                requireMethod(method, "GET");
+                String text = required(params, "q");
+                int limit = limit(params, "limit", 10);
+                yield Response.json(200, properties(read(() -> manager.autocompleteAddress(text, limit)), limit));
+            }
+            case "/properties/price" -> {
+                requireMethod(method, "POST");
+                String address = required(params, "address");
+                double price = number(params, "price");
+                yield result(await(() -> writes.updatePrice(address, price).join()));
+            }
+            case "/properties/status" -> {
+                requireMethod(method, "POST");
+                String address = required(params, "address");
+                PropertyStatus status = status(required(params, "status"));
+                yield result(await(() -> writes.updateStatus(address, status).join()));
+            }
+            default -> Response.error(404, "No such resource: " + path);
+        };
+    }
+
+    private Response analytics(String method, String path, Map<String, String> params) {
+        requireMethod(method, "GET");
+        return switch (path) {
+            case "/analytics/summary" -> Response.json(200, read(this::summary));
+            case "/analytics/cheapest" -> {
+                int count = limit(params, "count", 10);
+                yield Response.json(200, properties(read(() -> analyzer.findCheapestProperties(count)), count));
+            }
+            case "/analytics/most-expensive" -> {
+                int count = limit(params, "count", 10);
+                yield Response.json(200, properties(read(() -> analyzer.findMostExpensiveProperties(count)), count));
+            }
+            case "/analytics/price-drops" -> {
+                double percent = number(params, "percent");
+                int days = integer(params, "days");
+                int limit = limit(params, "limit", DEFAULT_LIMIT);
+                yield Response.json(200, properties(read(() -> analyzer.findPropertiesWithPriceDrop(percent, days)),
+                        limit));
+            }
+            default -> Response.error(404, "No such resource: " + path);
+        };
+    }
+
+    private Response metrics(String method, String path, Map<String, String> params) {
+        requireMethod(method, "GET");
+        AnalyzerCacheStatistics cache = analyzer.getCacheStatistics();
+        String counters = String.format("%-52s %10d%n".repeat(8),
+                "writes.batches", writes.getBatches(), "writes.total", writes.getWrites(),
+                "writes.coalesced", writes.getCoalesced(), "analyzer.cache.hits", cache.hits(),
+                "analyzer.cache.misses", cache.misses(), "analyzer.cache.invalidations", cache.invalidations(),
+                "analyzer.cache.evictions", cache.evictions(), "analyzer.cache.entries", (long) cache.entries());
+        return new Response(200, "text/plain; charset=utf-8", PropertyMetrics.dump() + counters);
+    }
+
+    private String summary() {
+        DoubleSummaryStatistics all = manager.getPriceStatistics();
+        StringBuilder json = new StringBuilder(512).append('{');
+        json.append("\"count\":").append(analyzer.countProperties());
+        json.append(",\"totalPrice\":").append(analyzer.calculateTotalPrice());
+        json.append(",\"averagePrice\":").append(all.getCount() == 0 ? 0 : all.getAverage());
+        json.append(",\"anyAvailable\":").append(analyzer.isAnyPropertyAvailable());
+        json.append(",\"allSold\":").append(analyzer.areAllPropertiesSold());
+        json.append(",\"byStatus\":{");
+        for (PropertyStatus status : PropertyStatus.values()) {
+            json.append(status.ordinal() == 0 ? "" : ",");
+            string(json, status.name()).append(':').append(manager.getPriceStatistics(status).getCount());
+        }
+        json.append("},\"byType\":{");
+        for (PropertyType type : PropertyType.values()) {
+            json.append(type.ordinal() == 0 ? "" : ",");
+            string(json, type.name()).append(':').append(manager.getPriceStatistics(type).getCount());
+        }
+        json.append("},\"cheapest\":");
+        optional(json, analyzer.findCheapestProperty());
+        json.append(",\"mostExpensive\":");
+        optional(json, analyzer.findMostExpensiveProperty());
+        return json.append('}').toString();
+    }
+
+    private <T> T read(Supplier<T> read) {
+        if (lock == null) {
+            return read.get();
+        }
+        lock.readLock().lock();
+        try {
+            return read.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Unwraps the batcher's failures, e.g. a full queue, so route() can map them to a status code
+    private static PropertyResult await(Supplier<PropertyResult> write) {
+        try {
+            return write.get();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Response result(PropertyResult result) {
+        return switch (result) {
+            case PropertyResult.Success success -> Response.json(200, property(success.property()));
+            case PropertyResult.NotFound notFound -> Response.error(404, "Property not found: " + notFound.address());
+            case PropertyResult.Rejected rejected -> Response.error(400, rejected.reason());
+        };
+    }
+
+    private static HttpHandler route(Endpoint endpoint) {
+        return exchange -> {
+            Response response;
+            try {
+                Map<String, String> params = parameters(exchange);
+                response = endpoint.handle(exchange.getRequestMethod(), exchange.getRequestURI().getPath(), params);
+            } catch (MethodNotAllowed e) {
+                response = Response.error(405, e.getMessage());
+            } catch (IllegalArgumentException e) {
+                response = Response.error(400, e.getMessage());
+            } catch (IllegalStateException e) {
+                // Full write queue or shutdown; the client may retry
+                response = Response.error(503, e.getMessage());
+            } catch (RuntimeException e) {
+                response = Response.error(500, "Error at method " + exchange.getRequestURI().getPath() + ": " + e);
+            }
+            send(exchange, response);
+        };
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", response.contentType());
+        exchange.sendResponseHeaders(response.status(), body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> parameters(HttpExchange exchange) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), params);
+        try (InputStream in = exchange.getRequestBody()) {
+            String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            byte[] body = in.readAllBytes();
+            if (body.length > 0 && contentType != null && contentType.startsWith("application/x-www-form-urlencoded")) {
+                parseForm(new String(body, StandardCharsets.UTF_8), params);
+            }
+        }
+        return params;
+    }
+
+    private static void parseForm(String form, Map<String, String> params) {
+        if (form == null || form.isEmpty()) {
+            return;
+        }
+        for (String pair : form.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void requireMethod(String method, String expected) {
+        if (!expected.equals(method)) {
+            throw new MethodNotAllowed("Method " + method + " not allowed; use " + expected);
+        }
+    }
+
+    private static String required(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    private static double number(Map<String, String> params, String name) {
+        String value = required(params, name);
+        try {
+            double number = Double.parseDouble(value);
+            if (Double.isFinite(number)) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Parameter " + name + " is not a finite number: " + value);
+    }
+
+    private static int integer(Map<String, String> params, String name) {
+        double number = number(params, name);
+        if (number != Math.rint(number) || number < Integer.MIN_VALUE || number > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Parameter " + name + " must be an integer in int range: "
+                    + params.get(name));
+        }
+        return (int) number;
+    }
+
+    private static int limit(Map<String, String> params, String name, int defaultLimit) {
+        if (!params.containsKey(name)) {
+            return defaultLimit;
+        }
+        int limit = integer(params, name);
+        if (limit < 0) {
+            throw new IllegalArgumentException("Parameter " + name + " must be a non-negative integer: " + limit);
+        }
+        return limit;
+    }
+
+    private static PropertyStatus status(String value) {
+        try {
+            return PropertyStatus.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown status: " + value);
+        }
+    }
+
+    private static String properties(Collection<Property> properties, int limit) {
+        StringBuilder json = new StringBuilder(64 + Math.min(properties.size(), limit) * 160).append('[');
+        int written = 0;
+        for (Property property : properties) {
+            if (written == limit) {
+                break;
+            }
+            json.append(written++ == 0 ? "" : ",");
+            property(json, property);
+        }
+        return json.append(']').toString();
+    }
+
+    private static String property(Property property) {
+        return property(new StringBuilder(160), property).toString();
+    }
+
+    private static StringBuilder property(StringBuilder json, Property property) {
+        json.append("{\"address\":");
+        string(json, property.getFullAddress());
+        json.append(",\"price\":").append(property.getPrice());
+        json.append(",\"status\":\"").append(property.getStatus().name());
+        json.append("\",\"type\":\"").append(property.getType().name()).append('"');
+        switch (property) {
+            case ResidentialProperty residential -> json.append(",\"bedrooms\":").append(residential.getBedrooms());
+            case CommercialProperty commercial -> {
+                json.append(",\"businessType\":");
+                string(json, commercial.getBusinessType());
+            }
+            default -> {
+            }
+        }
+        json.append(",\"added\":\"").append(property.getAddedDate()).append('"');
+        return json.append('}');
+    }
+
+    private static void optional(StringBuilder json, Optional<Property> property) {
+        if (property.isPresent()) {
+            property(json, property.get());
+        } else {
+            json.append("null");
+        }
+    }
+
+    private static StringBuilder string(StringBuilder json, String value) {
+        if (value == null) {
+            return json.append("null");
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append('"');
+    }
+
+    private interface Endpoint {
+        Response handle(String method, String path, Map<String, String> params);
+    }
+
+    private record Response(int status, String contentType, String body) {
+        static Response json(int status, String body) {
+            return new Response(status, "application/json; charset=utf-8", body);
+        }
+
+        static Response error(int status, String message) {
+            StringBuilder json = new StringBuilder("{\"error\":");
+            return json(status, string(json, message).append('}').toString());
+        }
+    }
+
+    private static final class MethodNotAllowed extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private MethodNotAllowed(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,648 @@
+package RealEstatePackage;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+// Append-only write-ahead journal of PropertyManager mutations, kept in one directory:
+//   journal-<base>.log        segment of records; <base> is the sequence number just before its first record
+//   inventory-<seq>.snapshot  PropertySnapshotFile holding every mutation up to and including <seq>
+// A segment starts with magic, version and base sequence, followed by records of
+// [int body length][int CRC32C of body][body], where the body is the sequence number, the record kind and
+// the kind's fields. Opening the journal restores the manager from the newest snapshot plus the records after
+// it; a torn record at the end of the last segment (a crash mid-write) is cut off. Price changes carry the time
+// the listing's price history gave them and replay with it, so history survives a restart for the changes still
+// in segments; snapshots hold no history. PRICE_CHANGED records from before times were journaled replay without
+// a history point.
+//
+// With a zero flush interval every mutation returns only once it is on disk, and writers that arrive while an
+// fsync is in progress share the next one (group commit). A positive interval lets mutations return right away
+// and fsyncs in the background, so a crash can lose at most that interval of changes.
+// When the active segment outgrows the compaction threshold it is closed and a background thread folds the
+// closed segments into a new snapshot, without holding up writers.
+public final class PropertyJournal implements AutoCloseable {
+    static final int MAGIC = 0x314A4552; // "REJ1" in little-endian byte order
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 4 + 4 + 8;
+    static final int RECORD_HEADER_SIZE = 4 + 4;
+
+    static final byte ADDED = 1;
+    static final byte PRICE_CHANGED = 2;
+    static final byte STATUS_CHANGED = 3;
+    static final byte REMOVED = 4;
+    static final byte PRICE_CHANGED_AT = 5;
+
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ZERO;
+    public static final long DEFAULT_COMPACTION_THRESHOLD = 64L << 20;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "inventory-";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    // In background-flush mode pending records are handed to the OS once this much has built up
+    private static final int WRITE_THRESHOLD = 256 << 10;
+    private static final PropertyType[] TYPES = PropertyType.values();
+    private static final PropertyStatus[] STATUSES = PropertyStatus.values();
+
+    private final Path directory;
+    private final PropertyManager manager;
+    private final boolean commitEveryMutation;
+    private final long compactionThreshold;
+    private final ScheduledExecutorService background;
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+    private final ReentrantLock compactionLock = new ReentrantLock();
+    // Records each mutation before the manager applies it, so a failed write leaves memory and journal in step
+    private final PropertyListener recorder = new PropertyListener() {
+        @Override
+        public void priceChanging(Property property, double newPrice, LocalDateTime changedAt) {
+            if (changedAt == null) {
+                record(PRICE_CHANGED, property, newPrice, null, null);
+            } else {
+                record(PRICE_CHANGED_AT, property, newPrice, null, changedAt);
+            }
+        }
+
+        @Override
+        public void statusChanging(Property property, PropertyStatus newStatus) {
+            record(STATUS_CHANGED, property, 0, newStatus, null);
+        }
+
+        @Override
+        public void propertyAdding(Property property) {
+            record(ADDED, property, property.getPrice(), property.getStatus(), null);
+        }
+
+        @Override
+        public void propertyRemoving(Property property) {
+            record(REMOVED, property, 0, null, null);
+        }
+
+        @Override
+        public void priceChanged(Property property, double oldPrice) {
+        }
+
+        @Override
+        public void statusChanged(Property property, PropertyStatus oldStatus) {
+        }
+    };
+
+    // Lock order is commitLock, then appendLock; the fsync itself runs outside appendLock so writers can keep appending
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private volatile long durableSequence;
+
+    private final Object appendLock = new Object();
+    private final CRC32C checksum = new CRC32C();
+    private ByteBuffer pending = ByteBuffer.allocate(64 << 10).order(ByteOrder.LITTLE_ENDIAN);
+    private FileChannel segment;
+    private long segmentBase;
+    private long segmentSize;
+    private long appendedSequence;
+    private boolean closed;
+    // The first failed write or fsync; what reached the disk after it is unknown, so every later mutation is
+    // refused rather than risk a gap in the journal. The failed record itself may still be recovered on restart.
+    private volatile IOException failure;
+
+    private PropertyJournal(Path directory, PropertyManager manager, Duration flushInterval, long compactionThreshold,
+                            FileChannel segment, long segmentBase, long lastSequence) throws IOException {
+        this.directory = directory;
+        this.manager = manager;
+        this.commitEveryMutation = flushInterval.isZero();
+        this.compactionThreshold = compactionThreshold;
+        this.segment = segment;
+        this.segmentBase = segmentBase;
+        this.segmentSize = segment.size();
+        this.appendedSequence = lastSequence;
+        this.durableSequence = lastSequence;
+        this.background = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("property-journal").daemon().factory());
+        if (!commitEveryMutation) {
+            long nanos = flushInterval.toNanos();
+            background.scheduleWithFixedDelay(this::flushInBackground, nanos, nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public static PropertyJournal open(Path directory, PropertyManager manager) throws IOException {
+        return open(directory, manager, DEFAULT_FLUSH_INTERVAL, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    // Restores the (empty) manager from the directory, then journals every mutation made to it until closed
+    public static PropertyJournal open(Path directory, PropertyManager manager, Duration flushInterval,
+                                       long compactionThreshold) throws IOException {
+        if (flushInterval.isNegative()) {
+            throw new IllegalArgumentException("Flush interval cannot be negative: " + flushInterval);
+        }
+        if (compactionThreshold <= HEADER_SIZE || compactionThreshold > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Compaction threshold out of range: " + compactionThreshold);
+        }
+        if (!manager.getSnapshot().isEmpty()) {
+            throw new IllegalArgumentException("A journal can only be opened on an empty PropertyManager.");
+        }
+        Files.createDirectories(directory);
+
+        Map<String, Property> inventory = new LinkedHashMap<>();
+        Path snapshot = latestSnapshot(directory);
+        long snapshotSequence = snapshot == null ? 0 : loadSnapshot(snapshot, inventory);
+        List<Path> segments = segments(directory);
+        long lastSequence = snapshotSequence;
+        for (int i = 0; i < segments.size(); i++) {
+            lastSequence = Math.max(lastSequence,
+                    replay(segments.get(i), inventory, snapshotSequence, i == segments.size() - 1));
+        }
+        for (Property property : inventory.values()) {
+            manager.tryAddProperty(property);
+        }
+
+        FileChannel segment;
+        long segmentBase;
+        if (segments.isEmpty()) {
+            segmentBase = lastSequence;
+            segment = createSegment(directory, segmentBase);
+        } else {
+            Path last = segments.getLast();
+            segmentBase = sequenceOf(last, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+            segment = FileChannel.open(last, StandardOpenOption.WRITE);
+            segment.position(segment.size());
+        }
+        PropertyJournal journal = new PropertyJournal(directory, manager, flushInterval, compactionThreshold,
+                segment, segmentBase, lastSequence);
+        manager.addMutationListener(journal.recorder);
+        if (journal.segmentSize >= compactionThreshold) {
+            journal.rollSegment(true);
+        }
+        return journal;
+    }
+
+    public long getLastSequence() {
+        synchronized (appendLock) {
+            return appendedSequence;
+        }
+    }
+
+    public long getDurableSequence() {
+        return durableSequence;
+    }
+
+    // Forces everything journaled so far to disk
+    public void flush() throws IOException {
+        commit(getLastSequence());
+    }
+
+    // Closes the active segment and folds all closed segments into a new snapshot on the calling thread
+    public void compact() throws IOException {
+        rollSegment(false);
+        foldClosedSegments();
+    }
+
+    @Override
+    public void close() throws IOException {
+        manager.removeMutationListener(recorder);
+        background.shutdown();
+        try {
+            background.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        commitLock.lock();
+        try {
+            synchronized (appendLock) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                try {
+                    writePending();
+                    segment.force(false);
+                    durableSequence = appendedSequence;
+                } finally {
+                    segment.close();
+                }
+            }
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    // The price and status are the values the change is about to set, changedAt the time of a price change
+    private void record(byte kind, Property property, double price, PropertyStatus status, LocalDateTime changedAt) {
+        long sequence;
+        boolean full;
+        synchronized (appendLock) {
+            if (closed) {
+                throw new IllegalStateException("Journal is closed: " + directory);
+            }
+            if (failure != null) {
+                throw new UncheckedIOException("Property journal failed earlier: " + directory, failure);
+            }
+            sequence = appendedSequence + 1;
+            int start = pending.position();
+            encode(kind, sequence, property, price, status, changedAt);
+            int bodyLength = pending.position() - start - RECORD_HEADER_SIZE;
+            checksum.reset();
+            checksum.update(pending.slice(start + RECORD_HEADER_SIZE, bodyLength));
+            pending.putInt(start, bodyLength);
+            pending.putInt(start + Integer.BYTES, (int) checksum.getValue());
+            appendedSequence = sequence;
+            segmentSize += RECORD_HEADER_SIZE + bodyLength;
+            full = segmentSize >= compactionThreshold;
+            if (!commitEveryMutation && pending.position() >= WRITE_THRESHOLD) {
+                try {
+                    writePending();
+                } catch (IOException e) {
+                    throw failed(e);
+                }
+            }
+        }
+        try {
+            if (full) {
+                rollSegment(true);
+            }
+            if (commitEveryMutation) {
+                commit(sequence);
+            }
+        } catch (IOException e) {
+            throw failed(e);
+        }
+    }
+
+    private UncheckedIOException failed(IOException e) {
+        if (failure == null) {
+            failure = e;
+        }
+        return new UncheckedIOException("Error writing property journal: " + directory, e);
+    }
+
+    private void encode(byte kind, long sequence, Property property, double price, PropertyStatus status,
+                        LocalDateTime changedAt) {
+        // Converted first, so a date out of range throws before anything is written
+        long nanos = switch (kind) {
+            case ADDED -> PropertySnapshotFile.toEpochNanos(property.getAddedDate());
+            case PRICE_CHANGED_AT -> PropertySnapshotFile.toEpochNanos(changedAt);
+            default -> 0;
+        };
+        byte[] address = property.getFullAddress().getBytes(StandardCharsets.UTF_8);
+        byte[] businessType = property instanceof CommercialProperty commercial && commercial.getBusinessType() != null
+                ? commercial.getBusinessType().getBytes(StandardCharsets.UTF_8)
+                : null;
+        ByteBuffer out = reserve(RECORD_HEADER_SIZE + 8 + 1 + 1 + 1 + 8 + 8 + 4 + 4 + 4 + address.length
+                + (businessType == null ? 0 : businessType.length));
+        out.position(out.position() + RECORD_HEADER_SIZE);
+        out.putLong(sequence);
+        out.put(kind);
+        switch (kind) {
+            case ADDED -> {
+                out.put((byte) property.getType().ordinal());
+                out.put((byte) status.ordinal());
+                out.putDouble(price);
+                out.putLong(nanos);
+                out.putInt(property instanceof ResidentialProperty residential ? residential.getBedrooms() : 0);
+                putBytes(out, businessType);
+            }
+            case PRICE_CHANGED -> out.putDouble(price);
+            case PRICE_CHANGED_AT -> {
+                out.putDouble(price);
+                out.putLong(nanos);
+            }
+            case STATUS_CHANGED -> out.put((byte) status.ordinal());
+            default -> {
+            }
+        }
+        putBytes(out, address);
+    }
+
+    private ByteBuffer reserve(int bytes) {
+        if (pending.remaining() < bytes) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + bytes))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            grown.put(pending.flip());
+            pending = grown;
+        }
+        return pending;
+    }
+
+    private static void putBytes(ByteBuffer out, byte[] bytes) {
+        if (bytes == null) {
+            out.putInt(-1);
+        } else {
+            out.putInt(bytes.length);
+            out.put(bytes);
+        }
+    }
+
+    // Caller holds appendLock
+    private void writePending() throws IOException {
+        pending.flip();
+        while (pending.hasRemaining()) {
+            segment.write(pending);
+        }
+        pending.clear();
+    }
+
+    private void commit(long sequence) throws IOException {
+        if (durableSequence >= sequence) {
+            return;
+        }
+        commitLock.lock();
+        try {
+            // Whoever held the lock before us may already have forced this record along with its own
+            if (durableSequence >= sequence) {
+                return;
+            }
+            FileChannel channel;
+            long target;
+            synchronized (appendLock) {
+                if (closed) {
+                    return;
+                }
+                writePending();
+                channel = segment;
+                target = appendedSequence;
+            }
+            channel.force(false);
+            durableSequence = target;
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    private void flushInBackground() {
+        try {
+            flush();
+        } catch (IOException e) {
+            failed(e);
+            PropertyEvents.publish(LogLevel.ERROR, "Error at method flush(): " + e.getMessage());
+        }
+    }
+
+    // Starts a new segment once the active one is full, or whenever it holds records if onlyWhenFull is false
+    private void rollSegment(boolean onlyWhenFull) throws IOException {
+        commitLock.lock();
+        try {
+            synchronized (appendLock) {
+                if (closed || segmentBase == appendedSequence || (onlyWhenFull && segmentSize < compactionThreshold)) {
+                    return;
+                }
+                writePending();
+                segment.force(false);
+                segment.close();
+                durableSequence = appendedSequence;
+                segmentBase = appendedSequence;
+                segment = createSegment(directory, segmentBase);
+                segmentSize = HEADER_SIZE;
+            }
+        } finally {
+            commitLock.unlock();
+        }
+        if (onlyWhenFull && compactionScheduled.compareAndSet(false, true)) {
+            background.execute(() -> {
+                compactionScheduled.set(false);
+                try {
+                    foldClosedSegments();
+                } catch (IOException e) {
+                    PropertyEvents.publish(LogLevel.ERROR, "Error at method compact(): " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    // Rebuilds the inventory from the newest snapshot and the closed segments, off to the side of the live manager
+    private void foldClosedSegments() throws IOException {
+        compactionLock.lock();
+        try {
+            long activeBase;
+            synchronized (appendLock) {
+                activeBase = segmentBase;
+            }
+            List<Path> closedSegments = new ArrayList<>();
+            for (Path path : segments(directory)) {
+                if (sequenceOf(path, SEGMENT_PREFIX, SEGMENT_SUFFIX) < activeBase) {
+                    closedSegments.add(path);
+                }
+            }
+            if (closedSegments.isEmpty()) {
+                return;
+            }
+            Map<String, Property> inventory = new LinkedHashMap<>();
+            Path previous = latestSnapshot(directory);
+            long snapshotSequence = previous == null ? 0 : loadSnapshot(previous, inventory);
+            for (Path path : closedSegments) {
+                replay(path, inventory, snapshotSequence, false);
+            }
+
+            // write() renames a forced temporary file into place and syncs the directory, so the old snapshot and
+            // segments are only deleted once the new snapshot is durable
+            Path target = directory.resolve(fileName(SNAPSHOT_PREFIX, activeBase, SNAPSHOT_SUFFIX));
+            PropertySnapshotFile.write(List.copyOf(inventory.values()), target);
+            if (previous != null && !previous.equals(target)) {
+                Files.delete(previous);
+            }
+            for (Path path : closedSegments) {
+                Files.delete(path);
+            }
+            PropertySnapshotFile.syncDirectory(target);
+            if (PropertyEvents.isEnabled(LogLevel.DEBUG)) {
+                PropertyEvents.publish(LogLevel.DEBUG, "Compacted " + closedSegments.size()
+                        + " journal segment(s) into " + target.getFileName());
+            }
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    private static FileChannel createSegment(Path directory, long base) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(fileName(SEGMENT_PREFIX, base, SEGMENT_SUFFIX)),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        ByteBuffer header = segmentHeader(base);
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        // Records committed to the new segment are only durable once its directory entry is
+        channel.force(true);
+        PropertySnapshotFile.syncDirectory(directory.resolve(fileName(SEGMENT_PREFIX, base, SEGMENT_SUFFIX)));
+        return channel;
+    }
+
+    private static ByteBuffer segmentHeader(long base) {
+        return ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(MAGIC).putInt(VERSION).putLong(base).flip();
+    }
+
+    private static long loadSnapshot(Path snapshot, Map<String, Property> inventory) throws IOException {
+        for (Property property : PropertySnapshotFile.read(snapshot)) {
+            inventory.put(PropertyManager.normalizeAddress(property.getFullAddress()), property);
+        }
+        return sequenceOf(snapshot, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+    }
+
+    // Applies the segment's records after the given sequence to the inventory and returns the last sequence seen.
+    // A torn or corrupt tail is cut off when the segment is the active one, and is an error anywhere else.
+    private static long replay(Path path, Map<String, Property> inventory, long after, boolean active) throws IOException {
+        long base = sequenceOf(path, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+        try (FileChannel channel = FileChannel.open(path, active
+                ? new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[]{StandardOpenOption.READ})) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Journal segment too large: " + path);
+            }
+            ByteBuffer in = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+            while (in.hasRemaining()) {
+                if (channel.read(in, in.position()) < 0) {
+                    throw new EOFException("Journal segment shrank while reading: " + path);
+                }
+            }
+            in.flip();
+            if (size < HEADER_SIZE && active) {
+                // Crashed before the header was written
+                channel.truncate(0);
+                channel.write(segmentHeader(base), 0);
+                return base;
+            }
+            if (size < HEADER_SIZE || in.getInt() != MAGIC || in.getInt() != VERSION || in.getLong() != base) {
+                throw new IOException("Not a property journal segment: " + path);
+            }
+
+            long sequence = base;
+            long validEnd = in.position();
+            CRC32C checksum = new CRC32C();
+            while (in.remaining() >= RECORD_HEADER_SIZE) {
+                int length = in.getInt();
+                int expected = in.getInt();
+                if (length < 9 || length > in.remaining()) {
+                    break;
+                }
+                ByteBuffer body = in.slice(in.position(), length).order(ByteOrder.LITTLE_ENDIAN);
+                checksum.reset();
+                checksum.update(body.duplicate());
+                if ((int) checksum.getValue() != expected) {
+                    break;
+                }
+                in.position(in.position() + length);
+                sequence = body.getLong();
+                if (sequence > after) {
+                    apply(body, inventory, path);
+                }
+                validEnd = in.position();
+            }
+            if (validEnd < size) {
+                if (!active) {
+                    throw new IOException("Corrupt journal segment " + path + " at offset " + validEnd);
+                }
+                channel.truncate(validEnd);
+                if (PropertyEvents.isEnabled(LogLevel.WARN)) {
+                    PropertyEvents.publish(LogLevel.WARN, "Discarded " + (size - validEnd)
+                            + " bytes of incomplete journal records from " + path.getFileName());
+                }
+            }
+            return sequence;
+        }
+    }
+
+    // Mirrors what the manager did when the record was written; addresses match case-insensitively
+    private static void apply(ByteBuffer body, Map<String, Property> inventory, Path path) throws IOException {
+        byte kind = body.get();
+        switch (kind) {
+            case ADDED -> {
+                PropertyType type = TYPES[body.get()];
+                PropertyStatus status = STATUSES[body.get()];
+                double price = body.getDouble();
+                LocalDateTime addedDate = PropertySnapshotFile.fromEpochNanos(body.getLong());
+                int bedrooms = body.getInt();
+                String businessType = getString(body);
+                String address = getString(body);
+                Property property = type == PropertyType.RESIDENTIAL
+                        ? new ResidentialProperty(address, price, bedrooms, addedDate)
+                        : new CommercialProperty(address, price, businessType, addedDate);
+                if (status != PropertyStatus.AVAILABLE) {
+                    property.updateStatus(status);
+                }
+                inventory.putIfAbsent(PropertyManager.normalizeAddress(address), property);
+            }
+            case PRICE_CHANGED -> {
+                double price = body.getDouble();
+                Property property = inventory.get(PropertyManager.normalizeAddress(getString(body)));
+                if (property != null) {
+                    property.replayPrice(price);
+                }
+            }
+            case PRICE_CHANGED_AT -> {
+                double price = body.getDouble();
+                LocalDateTime changedAt = PropertySnapshotFile.fromEpochNanos(body.getLong());
+                Property property = inventory.get(PropertyManager.normalizeAddress(getString(body)));
+                if (property != null) {
+                    property.updatePrice(price, changedAt);
+                }
+            }
+            case STATUS_CHANGED -> {
+                PropertyStatus status = STATUSES[body.get()];
+                Property property = inventory.get(PropertyManager.normalizeAddress(getString(body)));
+                if (property != null) {
+                    property.updateStatus(status);
+                }
+            }
+            case REMOVED -> inventory.remove(PropertyManager.normalizeAddress(getString(body)));
+            default -> throw new IOException("Unknown journal record kind " + kind + " in " + path);
+        }
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Path latestSnapshot(Path directory) throws IOException {
+        List<Path> snapshots = list(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        return snapshots.isEmpty() ? null : snapshots.getLast();
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        return list(directory, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+    }
+
+    // Zero-padded names sort in sequence order
+    private static List<Path> list(Path directory, String prefix, String suffix) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "*" + suffix)) {
+            stream.forEach(paths::add);
+        }
+        paths.sort(null);
+        return paths;
+    }
+
+    private static String fileName(String prefix, long sequence, String suffix) {
+        return prefix + String.format("%019d", sequence) + suffix;
+    }
+
+    private static long sequenceOf(Path path, String prefix, String suffix) throws IOException {
+        String name = path.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+        } catch (NumberFormatException e) {
+            throw new IOException("Unexpected file in journal directory: " + path, e);
+        }
+    }
+}
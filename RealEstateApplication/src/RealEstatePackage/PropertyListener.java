@@ -0,0 +1,32 @@
+package RealEstatePackage;
+
+import java.time.LocalDateTime;
+
+// Notified by a Property after its price or status changes, so an owning manager can keep its indexes in sync.
+// Mutation listeners registered on a PropertyManager also hear about listings being added and removed.
+// The ...ing methods run before the change is applied, e.g. for a write-ahead log; an UncheckedIOException
+// thrown from one stops the change, and PropertyManager reports it as Rejected.
+interface PropertyListener {
+    void priceChanged(Property property, double oldPrice);
+
+    void statusChanged(Property property, PropertyStatus oldStatus);
+
+    default void propertyAdded(Property property) {
+    }
+
+    default void propertyRemoved(Property property) {
+    }
+
+    // changedAt is the time the price history records for the change
+    default void priceChanging(Property property, double newPrice, LocalDateTime changedAt) {
+    }
+
+    default void statusChanging(Property property, PropertyStatus newStatus) {
+    }
+
+    default void propertyAdding(Property property) {
+    }
+
+    default void propertyRemoving(Property property) {
+    }
+}
@@ -2,21 +2,53 @@ package RealEstatePackage;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.BitSet;
 
 public interface PropertyManagement {
     void listProperty();
     void updatePrice(double newPrice);
 
+    // The same rule as PropertyManager's: a NaN or infinite price set on a managed listing directly would
+    // otherwise reach its indexes and running totals
     default void validatePriceBeforeUpdate(double newPrice) {
-        if (newPrice < 0) {
-            logPriceValidation(newPrice);
-            throw new IllegalArgumentException("Price cannot be negative: " + newPrice);
-        }
         logPriceValidation(newPrice);
+        String rejection = priceRejection(newPrice);
+        if (rejection != null) {
+            throw new IllegalArgumentException(rejection);
+        }
+    }
+
+    // Batch form of validatePriceBeforeUpdate for bulk imports: the same rule over the first count prices,
+    // logged once per batch; returns the indexes of the prices it would reject
+    static BitSet validatePricesBeforeUpdate(double[] prices, int count) {
+        BitSet rejected = new BitSet(count);
+        for (int i = 0; i < count; i++) {
+            if (priceRejection(prices[i]) != null) {
+                rejected.set(i);
+            }
+        }
+        if (PropertyEvents.isEnabled(LogLevel.DEBUG)) {
+            PropertyEvents.publish(LogLevel.DEBUG, "Validating " + count + " prices, "
+                    + rejected.cardinality() + " rejected");
+        }
+        return rejected;
+    }
+
+    // Why the price is invalid, or null when it is valid
+    static String priceRejection(double price) {
+        if (price < 0) {
+            return "Price cannot be negative: " + price;
+        }
+        if (!Double.isFinite(price)) {
+            return "Price must be a finite number: " + price;
+        }
+        return null;
     }
 
     private void logPriceValidation(double price) {
-        System.out.println("Validating price: $" + price);
+        if (PropertyEvents.isEnabled(LogLevel.DEBUG)) {
+            PropertyEvents.publish(LogLevel.DEBUG, "Validating price: $" + price);
+        }
     }
 
     static void printWelcomeMessage() {
@@ -1,26 +1,189 @@
 package RealEstatePackage;
 
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.DoubleSummaryStatistics;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
 
 public class PropertyManager {
-    private List<Property> properties;
+    // Shared by every manager; recorded only while PropertyMetrics is enabled
+    private static final PropertyMetrics.Operation ADD = PropertyMetrics.operation("PropertyManager.addProperty");
+    private static final PropertyMetrics.Operation REMOVE = PropertyMetrics.operation("PropertyManager.removeProperty");
+    private static final PropertyMetrics.Operation UPDATE_PRICE = PropertyMetrics.operation("PropertyManager.updatePropertyPrice");
+    private static final PropertyMetrics.Operation UPDATE_STATUS = PropertyMetrics.operation("PropertyManager.updatePropertyStatus");
+    private static final PropertyMetrics.Operation FIND = PropertyMetrics.operation("PropertyManager.findProperty");
+    private static final PropertyMetrics.Operation PRICE_RANGE = PropertyMetrics.operation("PropertyManager.findPropertiesInPriceRange");
+    private static final PropertyMetrics.Operation SEARCH = PropertyMetrics.operation("PropertyManager.search");
+    private static final PropertyMetrics.Operation AUTOCOMPLETE = PropertyMetrics.operation("PropertyManager.autocompleteAddress");
+
+    // Keyed by normalized address; LinkedHashMap keeps insertion order for listing
+    private final Map<String, Property> properties;
+    // Secondary index ordered by price, then normalized address
+    private final PropertyOrder<PriceKey> priceIndex;
+    private final PropertyAggregates aggregates;
+    // Status and type bitmaps over the listings, in insertion order
+    private final PropertyBitmapIndex bitmaps;
+    private final PropertyQueryPlanner planner;
+    // Read-only snapshot shared by readers, stamped with the membership count it was copied at; rebuilt on the
+    // first read after an add or remove
+    private volatile Snapshot snapshot;
+    // Bumped after every add and remove, once the listings map reflects it
+    private final AtomicLong membershipChanges = new AtomicLong();
+    // Bumped after every add, remove and actual price or status change, once the indexes reflect it
+    private final AtomicLong version = new AtomicLong();
+    // Told about every mutation just before it is applied (PropertyJournal) and after the indexes reflect it
+    private final List<PropertyListener> mutationListeners = new CopyOnWriteArrayList<>();
+    private final PropertyListener indexUpdater = new PropertyListener() {
+        @Override
+        public void priceChanging(Property property, double newPrice, LocalDateTime changedAt) {
+            for (PropertyListener listener : mutationListeners) {
+                listener.priceChanging(property, newPrice, changedAt);
+            }
+            // A PackedPropertyOrder finds the entry through the listing's current price, so it goes before the change
+            priceIndex.remove(new PriceKey(property.getPrice(), normalizeAddress(property.getFullAddress())));
+        }
+
+        @Override
+        public void statusChanging(Property property, PropertyStatus newStatus) {
+            for (PropertyListener listener : mutationListeners) {
+                listener.statusChanging(property, newStatus);
+            }
+        }
+
+        @Override
+        public void priceChanged(Property property, double oldPrice) {
+            String key = normalizeAddress(property.getFullAddress());
+            PriceKey oldKey = new PriceKey(oldPrice, key);
+            PriceKey newKey = new PriceKey(property.getPrice(), key);
+            priceIndex.put(newKey, property);
+            aggregates.changePrice(property.getType(), property.getStatus(), oldKey, newKey);
+            if (Double.compare(oldPrice, property.getPrice()) != 0) {
+                version.incrementAndGet();
+            }
+            for (PropertyListener listener : mutationListeners) {
+                listener.priceChanged(property, oldPrice);
+            }
+        }
+
+        @Override
+        public void statusChanged(Property property, PropertyStatus oldStatus) {
+            PriceKey key = new PriceKey(property.getPrice(), normalizeAddress(property.getFullAddress()));
+            aggregates.changeStatus(property.getType(), oldStatus, property.getStatus(), key);
+            bitmaps.changeStatus(property, oldStatus, property.getStatus());
+            if (oldStatus != property.getStatus()) {
+                version.incrementAndGet();
+            }
+            for (PropertyListener listener : mutationListeners) {
+                listener.statusChanged(property, oldStatus);
+            }
+        }
+    };
 
     public PropertyManager() {
-        this.properties = new ArrayList<>();
+        this(new LinkedHashMap<>(), PropertyOrder.of(new TreeMap<>()), new PropertyAggregates(TreeSet::new),
+                new PropertyBitmapIndex(PropertyOrder.of(new TreeMap<>()), 1));
+    }
+
+    // Lets subclasses such as ConcurrentPropertyManager supply thread-safe indexes, or ColumnarPropertyManager its
+    // columns, whose address map moves a listing into a row when it is put and back out when it is removed, and
+    // packed orders
+    PropertyManager(Map<String, Property> properties, PropertyOrder<PriceKey> priceIndex,
+                    PropertyAggregates aggregates, PropertyBitmapIndex bitmaps) {
+        this.properties = properties;
+        this.priceIndex = priceIndex;
+        this.aggregates = aggregates;
+        this.bitmaps = bitmaps;
+        this.planner = new PropertyQueryPlanner(properties, priceIndex, aggregates, bitmaps);
+    }
+
+    // Changes whenever the inventory does; equal versions mean nothing was added, removed or repriced in between
+    public long getVersion() {
+        return version.get();
+    }
+
+    // Addresses are matched case-insensitively, so the index key is the lower-cased address
+    static String normalizeAddress(String address) {
+        return address.toLowerCase(Locale.ROOT);
+    }
+
+    public boolean addProperty(Property property) {
+        return report("addProperty", tryAddProperty(property));
+    }
+
+    public PropertyResult tryAddProperty(Property property) {
+        long start = ADD.start();
+        PropertyResult result = add(property);
+        ADD.stop(start);
+        return result;
     }
 
-    public void addProperty(Property property) {
+    private PropertyResult add(Property property) {
+        if (property == null) {
+            return new PropertyResult.Rejected("Property variable value cannot be null.");
+        }
+        if (property.getFullAddress() == null) {
+            return new PropertyResult.Rejected("Property address cannot be null.");
+        }
+        if (property.getListener() != null) {
+            return new PropertyResult.Rejected("Property is already managed: " + property.getFullAddress());
+        }
+        // A NaN or infinite price would stay in the running price totals for good
+        if (!Double.isFinite(property.getPrice())) {
+            return new PropertyResult.Rejected("Price must be a finite number: " + property.getPrice());
+        }
+        // Snapshots, the journal and the columnar store keep the date as epoch nanoseconds
+        if (!PropertySnapshotFile.isStorable(property.getAddedDate())) {
+            return new PropertyResult.Rejected("Added date out of the storable range 1677-09-21 to 2262-04-11: "
+                    + property.getAddedDate());
+        }
+        String key = normalizeAddress(property.getFullAddress());
+        if (properties.containsKey(key)) {
+            return new PropertyResult.Rejected("Property already exists at address: " + property.getFullAddress());
+        }
         try {
-            if (property == null) {
-                throw new NullPointerException("Property variable value cannot be null.");
+            for (PropertyListener listener : mutationListeners) {
+                listener.propertyAdding(property);
             }
-            properties.add(property);
-            System.out.println("Added property: " + property.getFullDetails());
-        } catch (NullPointerException e) {
-            System.out.println("Error at method addProperty(): " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            return notApplied(e);
+        }
+        if (properties.putIfAbsent(key, property) != null) {
+            return new PropertyResult.Rejected("Property already exists at address: " + property.getFullAddress());
         }
+        PriceKey priceKey = new PriceKey(property.getPrice(), key);
+        priceIndex.put(priceKey, property);
+        aggregates.add(property.getType(), property.getStatus(), priceKey);
+        bitmaps.add(property, key);
+        property.setListener(indexUpdater);
+        membershipChanges.incrementAndGet();
+        version.incrementAndGet();
+        if (PropertyEvents.isEnabled(LogLevel.INFO)) {
+            PropertyEvents.publish(LogLevel.INFO, "Added property: " + property.getFullDetails());
+        }
+        for (PropertyListener listener : mutationListeners) {
+            listener.propertyAdded(property);
+        }
+        return new PropertyResult.Success(property);
+    }
+
+    // Bulk form of tryAddProperty, e.g. for imports; one result per listing, in order
+    public List<PropertyResult> tryAddProperties(List<? extends Property> properties) {
+        List<PropertyResult> results = new ArrayList<>(properties.size());
+        for (Property property : properties) {
+            results.add(tryAddProperty(property));
+        }
+        return results;
     }
 
     public void listAllProperties() {
@@ -28,7 +191,7 @@ public class PropertyManager {
             if (properties.isEmpty()) {
                 throw new IllegalStateException("No properties available. Please add a new property.");
             }
-            for (Property property : properties) {
+            for (Property property : properties.values()) {
                 property.listProperty();
             }
         } catch (IllegalStateException e) {
@@ -37,95 +200,397 @@ public class PropertyManager {
     }
 
     public void updatePropertyPrice(String address, double newPrice) {
+        report("updatePropertyPrice", tryUpdatePropertyPrice(address, newPrice));
+    }
+
+    public PropertyResult tryUpdatePropertyPrice(String address, double newPrice) {
+        long start = UPDATE_PRICE.start();
+        PropertyResult result = updatePrice(address, newPrice);
+        UPDATE_PRICE.stop(start, result instanceof PropertyResult.NotFound);
+        return result;
+    }
+
+    private PropertyResult updatePrice(String address, double newPrice) {
+        PropertyResult.Rejected invalid = checkPriceUpdate(address, newPrice);
+        if (invalid != null) {
+            return invalid;
+        }
+        Property property = properties.get(normalizeAddress(address));
+        if (property == null) {
+            return new PropertyResult.NotFound(address);
+        }
         try {
-            if (address == null || address.isEmpty()) {
-                throw new IllegalArgumentException("Address cannot be null or empty. Please add a new address.");
-            }
-            for (Property property : properties) {
-                if (property.getFullAddress().equalsIgnoreCase(address)) {
-                    property.updatePrice(newPrice);
-                    return;
-                }
-            }
-            throw new NullPointerException("Property not found: " + address);
-        } catch (IllegalArgumentException | NullPointerException e) {
-            System.out.println("Error at method updatePropertyPrice(): " + e.getMessage());
+            property.updatePrice(newPrice);
+        } catch (UncheckedIOException e) {
+            return notApplied(e);
         }
+        return new PropertyResult.Success(property);
     }
 
     public void updatePropertyStatus(String address, PropertyStatus newStatus) {
+        report("updatePropertyStatus", tryUpdatePropertyStatus(address, newStatus));
+    }
+
+    public PropertyResult tryUpdatePropertyStatus(String address, PropertyStatus newStatus) {
+        long start = UPDATE_STATUS.start();
+        PropertyResult result = updateStatus(address, newStatus);
+        UPDATE_STATUS.stop(start, result instanceof PropertyResult.NotFound);
+        return result;
+    }
+
+    // The argument checks of tryUpdatePropertyPrice() and tryUpdatePropertyStatus(), without the lookup; null when
+    // the arguments are valid. PropertyWriteBatcher rejects writes with them before coalescing any
+    static PropertyResult.Rejected checkPriceUpdate(String address, double newPrice) {
+        if (address == null || address.isEmpty()) {
+            return new PropertyResult.Rejected("Address cannot be null or empty. Please add a new address.");
+        }
+        if (newPrice < 0) {
+            return new PropertyResult.Rejected("Price cannot be negative: " + newPrice);
+        }
+        if (!Double.isFinite(newPrice)) {
+            return new PropertyResult.Rejected("Price must be a finite number: " + newPrice);
+        }
+        return null;
+    }
+
+    static PropertyResult.Rejected checkStatusUpdate(String address, PropertyStatus newStatus) {
+        if (address == null || address.isEmpty()) {
+            return new PropertyResult.Rejected("Address cannot be null or empty.");
+        }
+        if (newStatus == null) {
+            return new PropertyResult.Rejected("Status cannot be null.");
+        }
+        return null;
+    }
+
+    private PropertyResult updateStatus(String address, PropertyStatus newStatus) {
+        PropertyResult.Rejected invalid = checkStatusUpdate(address, newStatus);
+        if (invalid != null) {
+            return invalid;
+        }
+        Property property = properties.get(normalizeAddress(address));
+        if (property == null) {
+            return new PropertyResult.NotFound(address);
+        }
         try {
-            if (address == null || address.isEmpty()) {
-                throw new IllegalArgumentException("Address cannot be null or empty.");
-            }
-            for (Property property : properties) {
-                if (property.getFullAddress().equalsIgnoreCase(address)) {
-                    property.updateStatus(newStatus);
-                    return;
-                }
-            }
-            throw new NullPointerException("Property not found: " + address);
-        } catch (IllegalArgumentException | NullPointerException e) {
-            System.out.println("Error at method updatePropertyStatus(): " + e.getMessage());
+            property.updateStatus(newStatus);
+        } catch (UncheckedIOException e) {
+            return notApplied(e);
         }
+        return new PropertyResult.Success(property);
     }
 
     public Property searchProperty(String address) {
-        try {
-            if (address == null || address.isEmpty()) {
-                throw new IllegalArgumentException("Address cannot be null or empty. Please add a new address.");
-            }
-            for (Property property : properties) {
-                if (property.getFullAddress().equalsIgnoreCase(address)) {
-                    return property;
-                }
-            }
-            throw new NullPointerException("Property not found: " + address);
-        } catch (IllegalArgumentException | NullPointerException e) {
-            System.out.println("Error at method searchProperty(): " + e.getMessage());
+        if (address == null || address.isEmpty()) {
+            System.out.println("Error at method searchProperty(): Address cannot be null or empty. Please add a new address.");
             return null;
         }
+        Optional<Property> property = findProperty(address);
+        if (property.isEmpty()) {
+            System.out.println("Error at method searchProperty(): Property not found: " + address);
+        }
+        return property.orElse(null);
+    }
+
+    // Exception-free lookup; a null, empty or unknown address is simply an empty result
+    public Optional<Property> findProperty(String address) {
+        if (address == null || address.isEmpty()) {
+            return Optional.empty();
+        }
+        long start = FIND.start();
+        Property property = properties.get(normalizeAddress(address));
+        FIND.stop(start, property == null);
+        return Optional.ofNullable(property);
     }
 
     public List<Property> searchProperty(double minPrice, double maxPrice) {
-        List<Property> result = new ArrayList<>();
-        try {
-            if (minPrice < 0 || maxPrice < 0) {
-                throw new IllegalArgumentException("Price values cannot be negative and it should be greater than zero.");
-            }
-            if (minPrice > maxPrice) {
-                throw new IllegalArgumentException("Min price cannot be greater than max price.");
-            }
-            Predicate<Property> priceInRange = property -> property.getPrice() >= minPrice && property.getPrice() <= maxPrice;
-            for (Property property : properties) {
-                if (priceInRange.test(property)) {
-                    result.add(property);
-                }
-            }
-            if (result.isEmpty()) {
-                throw new IllegalStateException("No properties found within the given price range.");
-            }
-        } catch (IllegalArgumentException | IllegalStateException e) {
-            System.out.println("Error in searchProperty(): " + e.getMessage());
+        if (minPrice < 0 || maxPrice < 0) {
+            System.out.println("Error in searchProperty(): Price values cannot be negative and it should be greater than zero.");
+            return new ArrayList<>();
+        }
+        if (minPrice > maxPrice) {
+            System.out.println("Error in searchProperty(): Min price cannot be greater than max price.");
+            return new ArrayList<>();
+        }
+        List<Property> result = findPropertiesInPriceRange(minPrice, maxPrice);
+        if (result.isEmpty()) {
+            System.out.println("Error in searchProperty(): No properties found within the given price range.");
         }
         return result;
     }
 
+    // Exception-free range search; an invalid or empty range returns an empty list
+    public List<Property> findPropertiesInPriceRange(double minPrice, double maxPrice) {
+        return findPropertiesInPriceRange(minPrice, maxPrice, Integer.MAX_VALUE);
+    }
+
+    // The cheapest limit listings of the range; the price index walk stops there
+    public List<Property> findPropertiesInPriceRange(double minPrice, double maxPrice, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative: " + limit);
+        }
+        if (minPrice < 0 || maxPrice < 0 || minPrice > maxPrice) {
+            return new ArrayList<>();
+        }
+        long start = PRICE_RANGE.start();
+        List<Property> matches = new ArrayList<>(Math.min(limit, 64));
+        Iterator<Map.Entry<PriceKey, Property>> entries = priceIndex.entries(PriceKey.lowerBound(minPrice), true,
+                PriceKey.lowerBound(Math.nextUp(maxPrice)), false, false);
+        while (matches.size() < limit && entries.hasNext()) {
+            matches.add(entries.next().getValue());
+        }
+        PRICE_RANGE.stop(start, matches.isEmpty());
+        return matches;
+    }
+
     public void removeProperty(String address) {
+        report("removeProperty", tryRemoveProperty(address));
+    }
+
+    public PropertyResult tryRemoveProperty(String address) {
+        long start = REMOVE.start();
+        PropertyResult result = remove(address);
+        REMOVE.stop(start, result instanceof PropertyResult.NotFound);
+        return result;
+    }
+
+    private PropertyResult remove(String address) {
+        if (address == null || address.isEmpty()) {
+            return new PropertyResult.Rejected("Address cannot be null or empty.");
+        }
+        String key = normalizeAddress(address);
+        Property property = properties.get(key);
+        if (property == null) {
+            return new PropertyResult.NotFound(address);
+        }
         try {
-            Property property = searchProperty(address);
-            if (property == null) {
-                throw new NullPointerException("Property not found: " + address);
+            for (PropertyListener listener : mutationListeners) {
+                listener.propertyRemoving(property);
             }
-            properties.remove(property);
-            System.out.println("Removed property: " + address);
-        } catch (NullPointerException e) {
-            System.out.println("Error at method removeProperty(): " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            return notApplied(e);
+        }
+        properties.remove(key);
+        PriceKey priceKey = new PriceKey(property.getPrice(), key);
+        priceIndex.remove(priceKey);
+        aggregates.remove(property.getType(), property.getStatus(), priceKey);
+        bitmaps.remove(property);
+        property.setListener(null);
+        membershipChanges.incrementAndGet();
+        version.incrementAndGet();
+        if (PropertyEvents.isEnabled(LogLevel.INFO)) {
+            PropertyEvents.publish(LogLevel.INFO, "Removed property: " + address);
         }
+        for (PropertyListener listener : mutationListeners) {
+            listener.propertyRemoved(property);
+        }
+        return new PropertyResult.Success(property);
+    }
+
+    // A listener such as PropertyJournal could not record the change, so it was not made
+    private static PropertyResult notApplied(UncheckedIOException e) {
+        return new PropertyResult.Rejected("Change not applied: " + e.getMessage());
+    }
+
+    void addMutationListener(PropertyListener listener) {
+        mutationListeners.add(listener);
+    }
+
+    void removeMutationListener(PropertyListener listener) {
+        mutationListeners.remove(listener);
+    }
+
+    // Prints a failed result the way the console-facing methods always have
+    private static boolean report(String method, PropertyResult result) {
+        switch (result) {
+            case PropertyResult.Success _ -> {
+                return true;
+            }
+            case PropertyResult.NotFound notFound ->
+                    System.out.println("Error at method " + method + "(): Property not found: " + notFound.address());
+            case PropertyResult.Rejected rejected ->
+                    System.out.println("Error at method " + method + "(): " + rejected.reason());
+        }
+        return false;
     }
 
     // New method to return a defensive copy of the properties list
     public List<Property> getProperties() {
-        return new ArrayList<>(properties);
+        return new ArrayList<>(properties.values());
+    }
+
+    // Immutable view shared by all callers until the next add or remove; prices and statuses read through live
+    public List<Property> getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null && current.membershipChanges() == membershipChanges.get()) {
+            return current.listings();
+        }
+        // Counted before copying: an add or remove that lands meanwhile makes the copy stale on the next read, so
+        // a copy that missed it is never served after it
+        long changes = membershipChanges.get();
+        List<Property> listings = copyListings();
+        snapshot = new Snapshot(changes, listings);
+        return listings;
+    }
+
+    // ConcurrentPropertyManager makes sure the copy holds the listings of one point in time
+    List<Property> copyListings() {
+        return List.copyOf(properties.values());
+    }
+
+    private record Snapshot(long membershipChanges, List<Property> listings) {
+    }
+
+    // Runs a read-only query over the snapshot. Only membership is point-in-time: no lock is taken, and prices and
+    // statuses are read live from the shared listings, so with concurrent writers a query may see some of a
+    // listing's changes and not others, and results derived from prices or statuses are not point-in-time
+    public <T, E extends Exception> T query(SnapshotQuery<T, E> query) throws E {
+        return query.apply(getSnapshot());
+    }
+
+    // Listings with one status or type, in insertion order, read from the bitmap index instead of scanning
+    public List<Property> getPropertiesByStatus(PropertyStatus status) {
+        if (status == null) {
+            return new ArrayList<>();
+        }
+        return bitmaps.listings(status);
+    }
+
+    public List<Property> getPropertiesByType(PropertyType type) {
+        if (type == null) {
+            return new ArrayList<>();
+        }
+        return bitmaps.listings(type);
+    }
+
+    // Up to limit listings whose address starts with the prefix, ignoring case, in alphabetical order of address
+    public List<Property> findPropertiesByAddressPrefix(String prefix, int limit) {
+        return matchAddresses(prefix, limit, bitmaps::addressesStartingWith);
+    }
+
+    // Up to limit listings whose address contains the text, ignoring case, in insertion order
+    public List<Property> findPropertiesByAddressSubstring(String text, int limit) {
+        return matchAddresses(text, limit, bitmaps::addressesContaining);
+    }
+
+    // Suggestions for a partly typed address: prefix matches first, alphabetically, then other listings containing
+    // the text, in insertion order; answered from the address trigram index rather than a scan
+    public List<Property> autocompleteAddress(String text, int limit) {
+        long start = AUTOCOMPLETE.start();
+        List<Property> matches = matchAddresses(text, limit, bitmaps::addressesMatching);
+        AUTOCOMPLETE.stop(start, matches.isEmpty());
+        return matches;
+    }
+
+    private List<Property> matchAddresses(String text, int limit, BiFunction<String, Integer, List<Property>> match) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative: " + limit);
+        }
+        if (text == null || text.isEmpty() || limit == 0) {
+            return new ArrayList<>();
+        }
+        String normalized = normalizeAddress(text);
+        return match.apply(normalized, limit);
+    }
+
+    // Multi-criteria search answered through the cheapest of the full scan, the status and type bitmaps, the price
+    // index and the per type and status price buckets; explain() shows which one and why
+    public List<Property> search(PropertyQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null.");
+        }
+        long start = SEARCH.start();
+        List<Property> matches = planner.execute(planner.plan(query), this::getSnapshot);
+        SEARCH.stop(start, matches.isEmpty());
+        return matches;
+    }
+
+    public QueryPlan explain(PropertyQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null.");
+        }
+        return planner.plan(query);
+    }
+
+    // Properties in ascending price order, read straight from the price index
+    public List<Property> getPropertiesSortedByPrice() {
+        List<Property> sorted = new ArrayList<>(properties.size());
+        prices(null, null, false).forEachRemaining(entry -> sorted.add(entry.getValue()));
+        return sorted;
+    }
+
+    public Optional<Property> getCheapestProperty() {
+        return getCheapestProperties(1).stream().findFirst();
+    }
+
+    public Optional<Property> getMostExpensiveProperty() {
+        return getMostExpensiveProperties(1).stream().findFirst();
+    }
+
+    // The count cheapest or most expensive listings, read from one end of the price index in O(log n + count)
+    public List<Property> getCheapestProperties(int count) {
+        return firstOf(false, count);
+    }
+
+    public List<Property> getMostExpensiveProperties(int count) {
+        return firstOf(true, count);
+    }
+
+    // Pages through the price index in ascending or descending order; pass null for the first page and
+    // PropertyPage.next() for the ones after it
+    public PropertyPage getPropertiesByPrice(PriceCursor after, int pageSize) {
+        return page(prices(after == null ? null : after.key(), null, false), pageSize);
+    }
+
+    public PropertyPage getPropertiesByPriceDescending(PriceCursor after, int pageSize) {
+        return page(prices(null, after == null ? null : after.key(), true), pageSize);
+    }
+
+    // The price index between two exclusive keys, either of which may be null for no bound
+    private Iterator<Map.Entry<PriceKey, Property>> prices(PriceKey after, PriceKey before, boolean descending) {
+        return priceIndex.entries(after, false, before, false, descending);
+    }
+
+    private List<Property> firstOf(boolean descending, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative: " + count);
+        }
+        List<Property> first = new ArrayList<>(Math.min(count, 1024));
+        Iterator<Map.Entry<PriceKey, Property>> prices = prices(null, null, descending);
+        while (first.size() < count && prices.hasNext()) {
+            first.add(prices.next().getValue());
+        }
+        return first;
+    }
+
+    private PropertyPage page(Iterator<Map.Entry<PriceKey, Property>> prices, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1: " + pageSize);
+        }
+        List<Property> page = new ArrayList<>(Math.min(pageSize, 1024));
+        Map.Entry<PriceKey, Property> last = null;
+        while (page.size() < pageSize && prices.hasNext()) {
+            last = prices.next();
+            page.add(last.getValue());
+        }
+        PriceKey next = prices.hasNext() ? last.getKey() : null;
+        return new PropertyPage(page, next != null ? new PriceCursor(next.price(), next.address()) : null);
+    }
+
+    // Running price statistics maintained on every mutation, so these are O(1) in the inventory size
+    public DoubleSummaryStatistics getPriceStatistics() {
+        return aggregates.statistics(null, null);
+    }
+
+    public DoubleSummaryStatistics getPriceStatistics(PropertyType type) {
+        return aggregates.statistics(type, null);
+    }
+
+    public DoubleSummaryStatistics getPriceStatistics(PropertyStatus status) {
+        return aggregates.statistics(null, status);
+    }
+
+    public DoubleSummaryStatistics getPriceStatistics(PropertyType type, PropertyStatus status) {
+        return aggregates.statistics(type, status);
     }
 }
\ No newline at end of file
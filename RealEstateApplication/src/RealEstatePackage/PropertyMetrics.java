@@ -0,0 +1,203 @@
+package RealEstatePackage;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Process-wide operation metrics: a call count, miss count and latency histogram per instrumented operation,
+// plus gauges such as inventory sizes. Off until enabled; while off, an instrumented call costs one volatile
+// read in start() and a branch in stop(). Readable as text through dump() and over JMX once registerMBean() runs.
+public final class PropertyMetrics {
+    public static final String OBJECT_NAME = "RealEstatePackage:type=PropertyMetrics";
+
+    // Returned by start() while metrics are off, so stop() records nothing for calls begun before enabling
+    static final long DISABLED = Long.MIN_VALUE;
+
+    private static volatile boolean enabled;
+    private static final Map<String, Operation> OPERATIONS = new ConcurrentHashMap<>();
+    private static final Map<String, LongSupplier> GAUGES = new ConcurrentHashMap<>();
+
+    private PropertyMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enable) {
+        enabled = enable;
+    }
+
+    // One operation's counters; instrumented classes hold theirs in a static final field
+    static Operation operation(String name) {
+        return OPERATIONS.computeIfAbsent(name, Operation::new);
+    }
+
+    public static void registerGauge(String name, LongSupplier gauge) {
+        if (name == null || gauge == null) {
+            throw new IllegalArgumentException("Gauge name and supplier cannot be null.");
+        }
+        GAUGES.put(name, gauge);
+    }
+
+    public static void unregisterGauge(String name) {
+        GAUGES.remove(name);
+    }
+
+    // Inventory size and available count of a manager, held weakly so registering does not keep it alive
+    public static void registerInventory(String name, PropertyManager manager) {
+        WeakReference<PropertyManager> reference = new WeakReference<>(manager);
+        registerGauge(name + ".size", () -> {
+            PropertyManager current = reference.get();
+            return current == null ? 0 : current.getPriceStatistics().getCount();
+        });
+        registerGauge(name + ".available", () -> {
+            PropertyManager current = reference.get();
+            return current == null ? 0 : current.getPriceStatistics(PropertyStatus.AVAILABLE).getCount();
+        });
+    }
+
+    public static Map<String, OperationSnapshot> getOperations() {
+        Map<String, OperationSnapshot> snapshots = new TreeMap<>();
+        OPERATIONS.forEach((name, operation) -> {
+            OperationSnapshot snapshot = operation.snapshot();
+            if (snapshot.calls() > 0) {
+                snapshots.put(name, snapshot);
+            }
+        });
+        return snapshots;
+    }
+
+    public static Map<String, Long> getGauges() {
+        Map<String, Long> values = new TreeMap<>();
+        GAUGES.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+        return values;
+    }
+
+    public static void reset() {
+        OPERATIONS.values().forEach(Operation::reset);
+    }
+
+    // One line per operation that has been called, then one per gauge; latencies in microseconds
+    public static String dump() {
+        StringBuilder dump = new StringBuilder();
+        dump.append(String.format("%-52s %10s %8s %10s %10s %10s %10s %10s%n",
+                "operation", "calls", "miss %", "mean us", "p50 us", "p99 us", "p99.9 us", "max us"));
+        getOperations().forEach((name, operation) -> dump.append(String.format(
+                "%-52s %10d %8.2f %10.1f %10.1f %10.1f %10.1f %10.1f%n", name, operation.calls(),
+                operation.missRate() * 100, operation.meanNanos() / 1e3, operation.p50Nanos() / 1e3,
+                operation.p99Nanos() / 1e3, operation.p999Nanos() / 1e3, operation.maxNanos() / 1e3)));
+        getGauges().forEach((name, value) -> dump.append(String.format("%-52s %10d%n", name, value)));
+        return dump.toString();
+    }
+
+    // Registers the PropertyMetricsMXBean with the platform MBean server; later calls do nothing
+    public static void registerMBean() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(new MXBean(), new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // Already registered
+        } catch (JMException e) {
+            throw new IllegalStateException("Error registering " + OBJECT_NAME, e);
+        }
+    }
+
+    public record OperationSnapshot(long calls, long misses, double missRate, double meanNanos, long p50Nanos,
+                                    long p90Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+    }
+
+    static final class Operation {
+        private final String name;
+        private final LongAdder misses = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private Operation(String name) {
+            this.name = name;
+        }
+
+        long start() {
+            return enabled ? System.nanoTime() : DISABLED;
+        }
+
+        void stop(long start) {
+            if (start != DISABLED) {
+                record(start, false);
+            }
+        }
+
+        // A miss is a call that found nothing to act on, such as a lookup of an unknown address
+        void stop(long start, boolean miss) {
+            if (start != DISABLED) {
+                record(start, miss);
+            }
+        }
+
+        private void record(long start, boolean miss) {
+            latency.record(System.nanoTime() - start);
+            if (miss) {
+                misses.increment();
+            }
+        }
+
+        OperationSnapshot snapshot() {
+            long count = latency.count();
+            long missed = misses.sum();
+            return new OperationSnapshot(count, missed, count == 0 ? 0 : (double) missed / count, latency.mean(),
+                    latency.percentile(0.50), latency.percentile(0.90), latency.percentile(0.99),
+                    latency.percentile(0.999), latency.max());
+        }
+
+        void reset() {
+            misses.reset();
+            latency.reset();
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static final class MXBean implements PropertyMetricsMXBean {
+        @Override
+        public boolean isEnabled() {
+            return PropertyMetrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enable) {
+            PropertyMetrics.setEnabled(enable);
+        }
+
+        @Override
+        public Map<String, OperationSnapshot> getOperations() {
+            return PropertyMetrics.getOperations();
+        }
+
+        @Override
+        public Map<String, Long> getGauges() {
+            return PropertyMetrics.getGauges();
+        }
+
+        @Override
+        public List<String> getDump() {
+            return new ArrayList<>(PropertyMetrics.dump().lines().toList());
+        }
+
+        @Override
+        public void reset() {
+            PropertyMetrics.reset();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package RealEstatePackage;
+
+import java.util.List;
+import java.util.Map;
+
+// JMX view of PropertyMetrics, registered as PropertyMetrics.OBJECT_NAME
+public interface PropertyMetricsMXBean {
+    boolean isEnabled();
+
+    void setEnabled(boolean enable);
+
+    Map<String, PropertyMetrics.OperationSnapshot> getOperations();
+
+    Map<String, Long> getGauges();
+
+    List<String> getDump();
+
+    void reset();
+}
@@ -0,0 +1,40 @@
+package RealEstatePackage;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+
+// Listings sorted by a unique key: PriceKey for the price index, the normalized address for prefix lookups.
+// Backed by a sorted map, or by a PackedPropertyOrder where a map entry per listing would outweigh the listing.
+interface PropertyOrder<K> {
+    void put(K key, Property property);
+
+    void remove(K key);
+
+    // Entries between the bounds, ascending or descending; a null bound leaves that end open
+    Iterator<Map.Entry<K, Property>> entries(K low, boolean lowInclusive, K high, boolean highInclusive,
+                                             boolean descending);
+
+    static <K> PropertyOrder<K> of(NavigableMap<K, Property> map) {
+        return new PropertyOrder<>() {
+            @Override
+            public void put(K key, Property property) {
+                map.put(key, property);
+            }
+
+            @Override
+            public void remove(K key) {
+                map.remove(key);
+            }
+
+            @Override
+            public Iterator<Map.Entry<K, Property>> entries(K low, boolean lowInclusive, K high, boolean highInclusive,
+                                                            boolean descending) {
+                NavigableMap<K, Property> range = low == null
+                        ? high == null ? map : map.headMap(high, highInclusive)
+                        : high == null ? map.tailMap(low, lowInclusive) : map.subMap(low, lowInclusive, high, highInclusive);
+                return (descending ? range.descendingMap() : range).entrySet().iterator();
+            }
+        };
+    }
+}
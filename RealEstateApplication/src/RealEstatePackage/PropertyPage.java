@@ -0,0 +1,14 @@
+package RealEstatePackage;
+
+import java.util.List;
+
+// One page of listings in price order; next is the cursor for the following page, or null after the last one
+public record PropertyPage(List<Property> properties, PriceCursor next) {
+    public PropertyPage {
+        properties = List.copyOf(properties);
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -0,0 +1,323 @@
+package RealEstatePackage;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+// Immutable multi-criteria search, e.g. AVAILABLE residential listings with 3+ bedrooms between 200k and 400k
+// added in the last 30 days, cheapest first, 20 per page. Build with PropertyQuery.builder() and run with
+// PropertyManager.search(); PropertyManager.explain() shows the plan chosen for it.
+public final class PropertyQuery {
+    public enum Order {
+        // Whatever order the chosen access path produces; pages are only stable with one of the orders below
+        ANY,
+        PRICE_ASCENDING,
+        PRICE_DESCENDING,
+        NEWEST_FIRST,
+        OLDEST_FIRST
+    }
+
+    // One entry per kind of predicate, used by the planner to tell which ones an index already enforces
+    enum Criterion {
+        STATUS, TYPE, PRICE, BEDROOMS, BUSINESS_TYPE, ADDED, AFTER
+    }
+
+    private static final Comparator<Property> BY_PRICE = Comparator.comparingDouble(Property::getPrice)
+            .thenComparing(property -> PropertyManager.normalizeAddress(property.getFullAddress()));
+    private static final Comparator<Property> BY_ADDED = Comparator.comparing(Property::getAddedDate)
+            .thenComparing(property -> PropertyManager.normalizeAddress(property.getFullAddress()));
+
+    private final Set<PropertyStatus> statuses;
+    // Already narrowed by the bedrooms and business type criteria, which only residential or commercial listings have
+    private final Set<PropertyType> types;
+    private final double minPrice;
+    private final double maxPrice;
+    private final int minBedrooms;
+    private final int maxBedrooms;
+    private final String businessType;
+    private final LocalDateTime addedSince;
+    private final LocalDateTime addedBefore;
+    private final Order order;
+    // Only with a price order: matches start right after this position in it
+    private final PriceCursor after;
+    private final int offset;
+    private final int limit;
+
+    private PropertyQuery(Builder builder) {
+        this.statuses = Collections.unmodifiableSet(EnumSet.copyOf(builder.statuses));
+        EnumSet<PropertyType> narrowed = EnumSet.copyOf(builder.types);
+        if (builder.minBedrooms > 0 || builder.maxBedrooms < Integer.MAX_VALUE) {
+            narrowed.retainAll(EnumSet.of(PropertyType.RESIDENTIAL));
+        }
+        if (builder.businessType != null) {
+            narrowed.retainAll(EnumSet.of(PropertyType.COMMERCIAL));
+        }
+        this.types = Collections.unmodifiableSet(narrowed);
+        this.minPrice = builder.minPrice;
+        this.maxPrice = builder.maxPrice;
+        this.minBedrooms = builder.minBedrooms;
+        this.maxBedrooms = builder.maxBedrooms;
+        this.businessType = builder.businessType;
+        this.addedSince = builder.addedSince;
+        this.addedBefore = builder.addedBefore;
+        this.order = builder.order;
+        this.after = builder.after;
+        this.offset = builder.offset;
+        this.limit = builder.limit;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean matches(Property property) {
+        if (!statuses.contains(property.getStatus()) || !types.contains(property.getType())) {
+            return false;
+        }
+        double price = property.getPrice();
+        if (price < minPrice || price > maxPrice) {
+            return false;
+        }
+        if (isRestricted(Criterion.BEDROOMS)) {
+            if (!(property instanceof ResidentialProperty residential)
+                    || residential.getBedrooms() < minBedrooms || residential.getBedrooms() > maxBedrooms) {
+                return false;
+            }
+        }
+        if (businessType != null) {
+            if (!(property instanceof CommercialProperty commercial)
+                    || !businessType.equalsIgnoreCase(commercial.getBusinessType())) {
+                return false;
+            }
+        }
+        LocalDateTime added = property.getAddedDate();
+        if ((addedSince != null && added.isBefore(addedSince)) || (addedBefore != null && !added.isBefore(addedBefore))) {
+            return false;
+        }
+        if (after != null) {
+            int position = new PriceKey(price, PropertyManager.normalizeAddress(property.getFullAddress())).compareTo(after.key());
+            return order == Order.PRICE_ASCENDING ? position > 0 : position < 0;
+        }
+        return true;
+    }
+
+    public Set<PropertyStatus> getStatuses() {
+        return statuses;
+    }
+
+    public Set<PropertyType> getTypes() {
+        return types;
+    }
+
+    public double getMinPrice() {
+        return minPrice;
+    }
+
+    public double getMaxPrice() {
+        return maxPrice;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    public PriceCursor getAfter() {
+        return after;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    boolean isRestricted(Criterion criterion) {
+        return switch (criterion) {
+            case STATUS -> statuses.size() < PropertyStatus.values().length;
+            case TYPE -> types.size() < PropertyType.values().length;
+            case PRICE -> minPrice > 0 || maxPrice < Double.POSITIVE_INFINITY;
+            case BEDROOMS -> minBedrooms > 0 || maxBedrooms < Integer.MAX_VALUE;
+            case BUSINESS_TYPE -> businessType != null;
+            case ADDED -> addedSince != null || addedBefore != null;
+            case AFTER -> after != null;
+        };
+    }
+
+    // True when no listing can match, e.g. both a bedroom count and a business type were asked for
+    boolean isUnsatisfiable() {
+        return statuses.isEmpty() || types.isEmpty()
+                || (addedSince != null && addedBefore != null && !addedSince.isBefore(addedBefore));
+    }
+
+    // Price bounds after applying the cursor, for estimates
+    double lowestPrice() {
+        return after != null && order == Order.PRICE_ASCENDING ? Math.max(minPrice, after.price()) : minPrice;
+    }
+
+    double highestPrice() {
+        return after != null && order == Order.PRICE_DESCENDING ? Math.min(maxPrice, after.price()) : maxPrice;
+    }
+
+    // Null for ANY, which leaves the access path's order as it is
+    Comparator<Property> comparator() {
+        return switch (order) {
+            case ANY -> null;
+            case PRICE_ASCENDING -> BY_PRICE;
+            case PRICE_DESCENDING -> BY_PRICE.reversed();
+            case OLDEST_FIRST -> BY_ADDED;
+            case NEWEST_FIRST -> BY_ADDED.reversed();
+        };
+    }
+
+    // Readable form of every restricted criterion, in Criterion order
+    Map<Criterion, String> describe() {
+        Map<Criterion, String> criteria = new EnumMap<>(Criterion.class);
+        for (Criterion criterion : Criterion.values()) {
+            if (isRestricted(criterion)) {
+                criteria.put(criterion, describe(criterion));
+            }
+        }
+        return criteria;
+    }
+
+    String describe(Criterion criterion) {
+        return switch (criterion) {
+            case STATUS -> "status in " + statuses;
+            case TYPE -> "type in " + types;
+            case PRICE -> "price " + minPrice + " to " + maxPrice;
+            case BEDROOMS -> maxBedrooms == Integer.MAX_VALUE ? "bedrooms >= " + minBedrooms
+                    : "bedrooms " + minBedrooms + " to " + maxBedrooms;
+            case BUSINESS_TYPE -> "business type '" + businessType + "'";
+            case ADDED -> addedBefore == null ? "added since " + addedSince
+                    : addedSince == null ? "added before " + addedBefore
+                    : "added " + addedSince + " to " + addedBefore;
+            case AFTER -> "after " + after.price() + " '" + after.address() + "'";
+        };
+    }
+
+    @Override
+    public String toString() {
+        Map<Criterion, String> criteria = describe();
+        return "PropertyQuery[" + (criteria.isEmpty() ? "all listings" : String.join(", ", criteria.values()))
+                + ", order " + order + ", offset " + offset
+                + (limit == Integer.MAX_VALUE ? "" : ", limit " + limit) + "]";
+    }
+
+    public static final class Builder {
+        private Set<PropertyStatus> statuses = EnumSet.allOf(PropertyStatus.class);
+        private Set<PropertyType> types = EnumSet.allOf(PropertyType.class);
+        private double minPrice = 0;
+        private double maxPrice = Double.POSITIVE_INFINITY;
+        private int minBedrooms = 0;
+        private int maxBedrooms = Integer.MAX_VALUE;
+        private String businessType;
+        private LocalDateTime addedSince;
+        private LocalDateTime addedBefore;
+        private Order order = Order.ANY;
+        private PriceCursor after;
+        private int offset = 0;
+        private int limit = Integer.MAX_VALUE;
+
+        private Builder() {
+        }
+
+        public Builder status(PropertyStatus first, PropertyStatus... rest) {
+            statuses = EnumSet.of(first, rest);
+            return this;
+        }
+
+        public Builder type(PropertyType first, PropertyType... rest) {
+            types = EnumSet.of(first, rest);
+            return this;
+        }
+
+        // Inclusive at both ends, like PropertyManager.findPropertiesInPriceRange()
+        public Builder price(double minPrice, double maxPrice) {
+            if (minPrice < 0 || maxPrice < 0 || Double.isNaN(minPrice) || Double.isNaN(maxPrice)) {
+                throw new IllegalArgumentException("Price bounds cannot be negative: " + minPrice + " to " + maxPrice);
+            }
+            if (minPrice > maxPrice) {
+                throw new IllegalArgumentException("Min price cannot be greater than max price: " + minPrice + " > " + maxPrice);
+            }
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+            return this;
+        }
+
+        // Only residential listings have bedrooms, so this also limits the query to them
+        public Builder bedrooms(int minBedrooms, int maxBedrooms) {
+            if (minBedrooms < 0 || minBedrooms > maxBedrooms) {
+                throw new IllegalArgumentException("Invalid bedroom range: " + minBedrooms + " to " + maxBedrooms);
+            }
+            this.minBedrooms = minBedrooms;
+            this.maxBedrooms = maxBedrooms;
+            return this;
+        }
+
+        public Builder minBedrooms(int minBedrooms) {
+            return bedrooms(minBedrooms, Integer.MAX_VALUE);
+        }
+
+        // Matched ignoring case; only commercial listings have a business type, so this also limits the query to them
+        public Builder businessType(String businessType) {
+            if (businessType == null || businessType.isEmpty()) {
+                throw new IllegalArgumentException("Business type cannot be null or empty.");
+            }
+            this.businessType = businessType;
+            return this;
+        }
+
+        // Inclusive
+        public Builder addedSince(LocalDateTime addedSince) {
+            this.addedSince = addedSince;
+            return this;
+        }
+
+        // Exclusive
+        public Builder addedBefore(LocalDateTime addedBefore) {
+            this.addedBefore = addedBefore;
+            return this;
+        }
+
+        public Builder orderBy(Order order) {
+            if (order == null) {
+                throw new IllegalArgumentException("Order cannot be null.");
+            }
+            this.order = order;
+            return this;
+        }
+
+        // Cursor pagination: pass PriceCursor.of() the last listing of the previous page. Needs a price order.
+        public Builder after(PriceCursor after) {
+            this.after = after;
+            return this;
+        }
+
+        // Skips the first offset matches and returns at most limit of the rest
+        public Builder page(int offset, int limit) {
+            if (offset < 0 || limit < 0) {
+                throw new IllegalArgumentException("Offset and limit cannot be negative: " + offset + ", " + limit);
+            }
+            this.offset = offset;
+            this.limit = limit;
+            return this;
+        }
+
+        public Builder limit(int limit) {
+            return page(0, limit);
+        }
+
+        public PropertyQuery build() {
+            if (after != null && order != Order.PRICE_ASCENDING && order != Order.PRICE_DESCENDING) {
+                throw new IllegalArgumentException("A cursor needs PRICE_ASCENDING or PRICE_DESCENDING order, not " + order);
+            }
+            return new PropertyQuery(this);
+        }
+    }
+}
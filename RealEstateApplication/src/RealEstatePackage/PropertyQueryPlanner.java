@@ -0,0 +1,289 @@
+package RealEstatePackage;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.DoubleSummaryStatistics;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import RealEstatePackage.PropertyQuery.Criterion;
+import RealEstatePackage.QueryPlan.AccessPath;
+
+// Plans and runs PropertyQuery searches over a PropertyManager's indexes. Each access path is costed as the rows
+// it reads, plus m log m to sort the m matches when it does not already yield the requested order. A path that
+// does stops reading once the page is full.
+final class PropertyQueryPlanner {
+    // Largest offset + limit kept in a bounded heap rather than sorting every match
+    private static final int MAX_TOP_K = 1 << 20;
+
+    private final Map<String, Property> properties;
+    private final PropertyOrder<PriceKey> priceIndex;
+    private final PropertyAggregates aggregates;
+    private final PropertyBitmapIndex bitmaps;
+
+    PropertyQueryPlanner(Map<String, Property> properties, PropertyOrder<PriceKey> priceIndex, PropertyAggregates aggregates,
+                         PropertyBitmapIndex bitmaps) {
+        this.properties = properties;
+        this.priceIndex = priceIndex;
+        this.aggregates = aggregates;
+        this.bitmaps = bitmaps;
+    }
+
+    QueryPlan plan(PropertyQuery query) {
+        long inventory = aggregates.statistics(null, null).getCount();
+        if (query.isUnsatisfiable() || query.getLimit() == 0) {
+            return new QueryPlan(query, AccessPath.EMPTY, "no listing can match", 0, inventory,
+                    List.of(), false, Map.of(AccessPath.EMPTY, 0L));
+        }
+        // Listings passing the status, type and price criteria; the others are not estimated
+        long matches = 0;
+        // Listings passing the status and type criteria, which the bitmaps select
+        long selected = 0;
+        for (PropertyType type : query.getTypes()) {
+            for (PropertyStatus status : query.getStatuses()) {
+                matches += estimateInPriceRange(aggregates.statistics(type, status), query);
+                selected += aggregates.count(type, status);
+            }
+        }
+        Map<AccessPath, Long> rows = new EnumMap<>(AccessPath.class);
+        rows.put(AccessPath.FULL_SCAN, inventory);
+        if (query.isRestricted(Criterion.PRICE) || isPriceOrder(query)) {
+            rows.put(AccessPath.PRICE_INDEX, estimateInPriceRange(aggregates.statistics(null, null), query));
+        }
+        if (query.isRestricted(Criterion.STATUS) || query.isRestricted(Criterion.TYPE)) {
+            rows.put(AccessPath.BITMAP_INDEX, selected);
+            if (aggregates.hasPriceOrder()) {
+                rows.put(AccessPath.TYPE_STATUS_INDEX, matches);
+            }
+        }
+
+        Map<AccessPath, Long> costs = new EnumMap<>(AccessPath.class);
+        AccessPath chosen = AccessPath.FULL_SCAN;
+        for (Map.Entry<AccessPath, Long> candidate : rows.entrySet()) {
+            long cost = cost(query, candidate.getKey(), candidate.getValue(), matches);
+            costs.put(candidate.getKey(), cost);
+            if (cost < costs.get(chosen)) {
+                chosen = candidate.getKey();
+            }
+        }
+
+        List<String> residualFilters = new ArrayList<>();
+        for (Map.Entry<Criterion, String> criterion : query.describe().entrySet()) {
+            if (!enforces(chosen, criterion.getKey())) {
+                residualFilters.add(criterion.getValue());
+            }
+        }
+        return new QueryPlan(query, chosen, accessDetail(query, chosen), rows.get(chosen), inventory,
+                residualFilters, isSortRequired(query, chosen), costs);
+    }
+
+    // The snapshot is only asked for by a full scan, so index plans never copy the inventory
+    List<Property> execute(QueryPlan plan, Supplier<List<Property>> snapshot) {
+        PropertyQuery query = plan.query();
+        Stream<Property> matches = switch (plan.accessPath()) {
+            case EMPTY -> Stream.empty();
+            case FULL_SCAN -> snapshot.get().stream();
+            case BITMAP_INDEX -> bitmaps.listings(query.getTypes(), query.getStatuses()).stream();
+            case PRICE_INDEX -> {
+                PriceRange range = PriceRange.of(query);
+                yield range == null ? Stream.empty() : stream(priceIndex.entries(range.low(), range.lowInclusive(),
+                        range.high(), false, range.descending())).map(Map.Entry::getValue);
+            }
+            case TYPE_STATUS_INDEX -> {
+                PriceRange range = PriceRange.of(query);
+                if (range == null) {
+                    yield Stream.empty();
+                }
+                List<Iterator<PriceKey>> buckets = new ArrayList<>();
+                for (PropertyType type : query.getTypes()) {
+                    for (PropertyStatus status : query.getStatuses()) {
+                        buckets.add(range.of(aggregates.prices(type, status)).iterator());
+                    }
+                }
+                Comparator<PriceKey> order = query.getOrder() == PropertyQuery.Order.PRICE_DESCENDING
+                        ? Comparator.reverseOrder() : Comparator.naturalOrder();
+                yield listings(buckets.size() == 1 ? buckets.getFirst() : new MergingIterator(buckets, order));
+            }
+        };
+        matches = matches.filter(query::matches);
+        if (plan.sortRequired()) {
+            long pageEnd = pageEnd(query);
+            if (pageEnd <= MAX_TOP_K) {
+                // Only the first offset + limit matches in order are needed, so keep them in a bounded heap
+                return matches.collect(TopK.collector((int) pageEnd, query.comparator())).stream()
+                        .skip(query.getOffset()).toList();
+            }
+            matches = matches.sorted(query.comparator());
+        }
+        return matches.skip(query.getOffset()).limit(query.getLimit()).toList();
+    }
+
+    private static boolean isPriceOrder(PropertyQuery query) {
+        return query.getOrder() == PropertyQuery.Order.PRICE_ASCENDING
+                || query.getOrder() == PropertyQuery.Order.PRICE_DESCENDING;
+    }
+
+    private static boolean isSortRequired(PropertyQuery query, AccessPath path) {
+        if (query.getOrder() == PropertyQuery.Order.ANY) {
+            return false;
+        }
+        return !(isPriceOrder(query) && (path == AccessPath.PRICE_INDEX || path == AccessPath.TYPE_STATUS_INDEX));
+    }
+
+    private static boolean enforces(AccessPath path, Criterion criterion) {
+        return switch (path) {
+            case EMPTY, FULL_SCAN -> false;
+            case BITMAP_INDEX -> criterion == Criterion.STATUS || criterion == Criterion.TYPE;
+            case PRICE_INDEX -> criterion == Criterion.PRICE || criterion == Criterion.AFTER;
+            case TYPE_STATUS_INDEX -> criterion == Criterion.PRICE || criterion == Criterion.AFTER
+                    || criterion == Criterion.STATUS || criterion == Criterion.TYPE;
+        };
+    }
+
+    private static long pageEnd(PropertyQuery query) {
+        return (long) query.getOffset() + query.getLimit();
+    }
+
+    private static long cost(PropertyQuery query, AccessPath path, long rows, long matches) {
+        if (isSortRequired(query, path)) {
+            long kept = Math.min(matches, pageEnd(query) <= MAX_TOP_K ? pageEnd(query) : matches);
+            return rows + (long) (matches * Math.log(Math.max(2, kept)) / Math.log(2));
+        }
+        // The bitmap path lists all its rows before filtering, so it cannot stop early
+        if (query.getLimit() == Integer.MAX_VALUE || rows == 0 || path == AccessPath.BITMAP_INDEX) {
+            return rows;
+        }
+        // Rows arrive in the wanted order, so reading stops once the page is full, after about
+        // offset + limit matches at the rate this path yields them
+        double wanted = pageEnd(query);
+        return Math.min(rows, (long) Math.ceil(wanted * rows / Math.max(1, matches)));
+    }
+
+    // Assumes prices are spread evenly between the bucket's min and max
+    private static long estimateInPriceRange(DoubleSummaryStatistics statistics, PropertyQuery query) {
+        long count = statistics.getCount();
+        if (count == 0 || !(query.isRestricted(Criterion.PRICE) || query.isRestricted(Criterion.AFTER))) {
+            return count;
+        }
+        double low = Math.max(query.lowestPrice(), statistics.getMin());
+        double high = Math.min(query.highestPrice(), statistics.getMax());
+        if (low > high) {
+            return 0;
+        }
+        if (statistics.getMax() == statistics.getMin()) {
+            return count;
+        }
+        return Math.max(1, Math.round(count * (high - low) / (statistics.getMax() - statistics.getMin())));
+    }
+
+    private static String accessDetail(PropertyQuery query, AccessPath path) {
+        String priceRange = query.isRestricted(Criterion.PRICE) ? query.describe(Criterion.PRICE) : "all prices";
+        String direction = query.getOrder() == PropertyQuery.Order.PRICE_DESCENDING ? "descending" : "ascending";
+        if (query.isRestricted(Criterion.AFTER)) {
+            priceRange += ", " + query.describe(Criterion.AFTER);
+        }
+        return switch (path) {
+            case EMPTY -> "no listing can match";
+            case FULL_SCAN -> "of the snapshot";
+            case BITMAP_INDEX -> query.describe().entrySet().stream()
+                    .filter(criterion -> criterion.getKey() == Criterion.TYPE || criterion.getKey() == Criterion.STATUS)
+                    .map(Map.Entry::getValue)
+                    .collect(Collectors.joining(" and "));
+            case PRICE_INDEX -> priceRange + ", " + direction;
+            case TYPE_STATUS_INDEX -> {
+                List<String> buckets = new ArrayList<>();
+                for (PropertyType type : query.getTypes()) {
+                    for (PropertyStatus status : query.getStatuses()) {
+                        buckets.add(type + "/" + status);
+                    }
+                }
+                yield "buckets " + buckets + ", " + priceRange + ", " + direction;
+            }
+        };
+    }
+
+    // Inclusive at both ends, like PropertyManager.findPropertiesInPriceRange(), narrowed to the listings past the
+    // cursor and walked in the query's price direction; high is exclusive, and null for no upper bound
+    private record PriceRange(PriceKey low, boolean lowInclusive, PriceKey high, boolean descending) {
+        // Null when no key can fall in the range
+        static PriceRange of(PropertyQuery query) {
+            boolean descending = query.getOrder() == PropertyQuery.Order.PRICE_DESCENDING;
+            PriceKey low = PriceKey.lowerBound(query.getMinPrice());
+            boolean lowInclusive = true;
+            PriceKey high = query.getMaxPrice() == Double.POSITIVE_INFINITY ? null
+                    : PriceKey.lowerBound(Math.nextUp(query.getMaxPrice()));
+            PriceCursor after = query.getAfter();
+            if (after != null && !descending && after.key().compareTo(low) >= 0) {
+                low = after.key();
+                lowInclusive = false;
+            } else if (after != null && descending && (high == null || after.key().compareTo(high) < 0)) {
+                high = after.key();
+            }
+            if (high != null && low.compareTo(high) > 0) {
+                return null;
+            }
+            return new PriceRange(low, lowInclusive, high, descending);
+        }
+
+        NavigableSet<PriceKey> of(NavigableSet<PriceKey> keys) {
+            NavigableSet<PriceKey> range = high == null ? keys.tailSet(low, lowInclusive) : keys.subSet(low, lowInclusive, high, false);
+            return descending ? range.descendingSet() : range;
+        }
+    }
+
+    private static <T> Stream<T> stream(Iterator<T> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
+    }
+
+    private Stream<Property> listings(Iterator<PriceKey> keys) {
+        return stream(keys)
+                .map(key -> properties.get(key.address()))
+                .filter(Objects::nonNull);
+    }
+
+    // Merges iterators that are each sorted by the same order
+    private static final class MergingIterator implements Iterator<PriceKey> {
+        private record Head(PriceKey key, Iterator<PriceKey> rest) {
+        }
+
+        private final PriorityQueue<Head> heads;
+
+        private MergingIterator(List<Iterator<PriceKey>> sources, Comparator<PriceKey> order) {
+            heads = new PriorityQueue<>(Math.max(1, sources.size()), Comparator.comparing(Head::key, order));
+            for (Iterator<PriceKey> source : sources) {
+                if (source.hasNext()) {
+                    heads.add(new Head(source.next(), source));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public PriceKey next() {
+            Head head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            if (head.rest().hasNext()) {
+                heads.add(new Head(head.rest().next(), head.rest()));
+            }
+            return head.key();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package RealEstatePackage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+// Streams report lines to a channel, optionally gzipped. Each line is formatted into one reusable StringBuilder,
+// encoded into a fixed byte buffer, and the buffer is written out whenever it fills; the write blocks until the
+// channel has taken the bytes, so a slow channel holds back the producer and an export of any size needs the
+// same BUFFER_SIZE of memory. Not thread-safe: one writer per report.
+public final class PropertyReportWriter implements Closeable {
+    static final int BUFFER_SIZE = 1 << 16;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final WritableByteChannel channel;
+    private final boolean closeChannel;
+    private final CharsetEncoder encoder;
+    private final StringBuilder line = new StringBuilder(256);
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    private CharBuffer chars = CharBuffer.allocate(256);
+    private long linesWritten;
+    private long bytesWritten;
+    private boolean closed;
+
+    private PropertyReportWriter(WritableByteChannel channel, Charset charset, boolean closeChannel) {
+        if (channel instanceof SelectableChannel selectable && !selectable.isBlocking()) {
+            throw new IllegalArgumentException("Report channel must be in blocking mode");
+        }
+        this.channel = channel;
+        this.closeChannel = closeChannel;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    // UTF-8 lines to the channel, which close() closes; with gzip the channel receives the compressed stream
+    public static PropertyReportWriter to(WritableByteChannel channel, boolean gzip) {
+        if (channel == null) {
+            throw new IllegalArgumentException("Report channel cannot be null");
+        }
+        if (gzip) {
+            try {
+                OutputStream compressed = new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+                return new PropertyReportWriter(Channels.newChannel(compressed), StandardCharsets.UTF_8, true);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error starting gzip report stream", e);
+            }
+        }
+        return new PropertyReportWriter(channel, StandardCharsets.UTF_8, true);
+    }
+
+    public static PropertyReportWriter toFile(Path path, boolean gzip) throws IOException {
+        return to(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE), gzip);
+    }
+
+    // Writes through System.out in its charset; close() flushes but leaves System.out open
+    public static PropertyReportWriter toConsole() {
+        return new PropertyReportWriter(Channels.newChannel(System.out), System.out.charset(), false);
+    }
+
+    public PropertyReportWriter append(CharSequence text) {
+        line.append(text);
+        return this;
+    }
+
+    public PropertyReportWriter append(char c) {
+        line.append(c);
+        return this;
+    }
+
+    public PropertyReportWriter append(double value) {
+        line.append(value);
+        return this;
+    }
+
+    public PropertyReportWriter append(long value) {
+        line.append(value);
+        return this;
+    }
+
+    public PropertyReportWriter append(Object value) {
+        line.append(value);
+        return this;
+    }
+
+    // The pending line, for formatters that append into a StringBuilder directly
+    StringBuilder line() {
+        return line;
+    }
+
+    // Ends the pending line and encodes it, writing out the buffer if it fills
+    public void endLine() {
+        line.append(LINE_SEPARATOR);
+        int length = line.length();
+        if (chars.capacity() < length) {
+            chars = CharBuffer.allocate(Math.max(length, chars.capacity() * 2));
+        }
+        chars.clear();
+        line.getChars(0, length, chars.array(), 0);
+        chars.limit(length);
+        line.setLength(0);
+        encode(false);
+        linesWritten++;
+    }
+
+    public void line(CharSequence text) {
+        line.append(text);
+        endLine();
+    }
+
+    public long getLinesWritten() {
+        return linesWritten;
+    }
+
+    // Bytes handed to the channel so far, before any gzip compression
+    public long getBytesWritten() {
+        return bytesWritten + bytes.position();
+    }
+
+    public void flush() {
+        drain();
+        if (!closeChannel) {
+            System.out.flush();
+        }
+    }
+
+    // A pending line without endLine() is dropped
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            chars.clear().flip();
+            encode(true);
+            while (encoder.flush(bytes).isOverflow()) {
+                drain();
+            }
+            drain();
+        } finally {
+            if (closeChannel) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Error closing report channel", e);
+                }
+            } else {
+                System.out.flush();
+            }
+        }
+    }
+
+    private void encode(boolean endOfInput) {
+        if (closed && !endOfInput) {
+            throw new IllegalStateException("Report writer is closed");
+        }
+        while (true) {
+            CoderResult result = encoder.encode(chars, bytes, endOfInput);
+            if (result.isOverflow()) {
+                drain();
+            } else {
+                return;
+            }
+        }
+    }
+
+    // Blocks until the channel has accepted the whole buffer; this is the back-pressure on the producer
+    private void drain() {
+        bytes.flip();
+        try {
+            while (bytes.hasRemaining()) {
+                bytesWritten += channel.write(bytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing report", e);
+        } finally {
+            bytes.clear();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package RealEstatePackage;
+
+// Outcome of a PropertyManager lookup or mutation; misses and rejections are plain values, not exceptions
+public sealed interface PropertyResult {
+    record Success(Property property) implements PropertyResult {
+    }
+
+    record NotFound(String address) implements PropertyResult {
+    }
+
+    record Rejected(String reason) implements PropertyResult {
+    }
+
+    default boolean isSuccess() {
+        return this instanceof Success;
+    }
+}
@@ -0,0 +1,498 @@
+package RealEstatePackage;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Binary columnar inventory snapshot. All values are little-endian; after the header each column is one
+// contiguous section:
+//   header          magic, version, row count, then the file offset of every section below
+//   TYPE            byte per row, PropertyType ordinal
+//   STATUS          byte per row, PropertyStatus ordinal
+//   PRICE           double per row
+//   ADDED           long per row, addedDate as UTC epoch nanoseconds
+//   BEDROOMS        int per row, 0 for commercial listings
+//   BUSINESS_TYPE   int per row, index into the dictionary or -1
+//   ADDRESS_OFFSETS long per row plus one, start of each address in ADDRESS_BYTES
+//   ADDRESS_BYTES   UTF-8 addresses back to back
+//   DICTIONARY      business type count, then length-prefixed UTF-8 strings
+//   ADDRESS_HASH    int per row, hashCode() of the normalized address
+//   ADDRESS_TABLE   slot count (a power of two), then open-addressing slots holding row + 1 (0 = empty)
+//   PRICE_ORDER     int per row, row numbers in ascending price order
+// The last three let MappedPropertyCatalog answer lookups straight from the mapped file. Version 1 files end
+// after DICTIONARY; read() still loads them, and writing the listings back out upgrades them to version 2.
+public final class PropertySnapshotFile {
+    static final int MAGIC = 0x31534552; // "RES1" in little-endian byte order
+    static final int VERSION = 2;
+    static final int VERSION_1 = 1;
+
+    static final int TYPE = 0;
+    static final int STATUS = 1;
+    static final int PRICE = 2;
+    static final int ADDED = 3;
+    static final int BEDROOMS = 4;
+    static final int BUSINESS_TYPE = 5;
+    static final int ADDRESS_OFFSETS = 6;
+    static final int ADDRESS_BYTES = 7;
+    static final int DICTIONARY = 8;
+    static final int ADDRESS_HASH = 9;
+    static final int ADDRESS_TABLE = 10;
+    static final int PRICE_ORDER = 11;
+    static final int SECTION_COUNT = 12;
+    static final int VERSION_1_SECTION_COUNT = 9;
+    static final int HEADER_SIZE = headerSize(SECTION_COUNT);
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final LocalDateTime MIN_STORABLE_DATE = fromEpochNanos(Long.MIN_VALUE);
+    private static final LocalDateTime MAX_STORABLE_DATE = fromEpochNanos(Long.MAX_VALUE);
+
+    record Header(long rowCount, long[] sections) {
+    }
+
+    private PropertySnapshotFile() {
+    }
+
+    // Writes next to the destination, forces it to disk, then renames it over the destination, so a crash mid-save
+    // leaves the previous snapshot in place
+    public static void write(List<Property> properties, Path path) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                write(properties, channel);
+                channel.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        syncDirectory(path);
+    }
+
+    // Forces the directory entry of a file just created or renamed, so the name survives a crash along with the data
+    static void syncDirectory(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException e) {
+            // Windows cannot open a directory as a channel; renames there are made durable by the file system
+        }
+    }
+
+    private static void write(List<Property> properties, FileChannel channel) throws IOException {
+        ColumnWriter out = new ColumnWriter(channel, HEADER_SIZE);
+        long[] sections = new long[SECTION_COUNT];
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+
+        sections[TYPE] = out.position();
+        for (Property property : properties) {
+            out.putByte((byte) property.getType().ordinal());
+        }
+        sections[STATUS] = out.position();
+        for (Property property : properties) {
+            out.putByte((byte) property.getStatus().ordinal());
+        }
+        sections[PRICE] = out.position();
+        double[] prices = new double[properties.size()];
+        for (int row = 0; row < prices.length; row++) {
+            prices[row] = properties.get(row).getPrice();
+            out.putDouble(prices[row]);
+        }
+        sections[ADDED] = out.position();
+        for (Property property : properties) {
+            out.putLong(toEpochNanos(property.getAddedDate()));
+        }
+        sections[BEDROOMS] = out.position();
+        for (Property property : properties) {
+            out.putInt(property instanceof ResidentialProperty residential ? residential.getBedrooms() : 0);
+        }
+        sections[BUSINESS_TYPE] = out.position();
+        for (Property property : properties) {
+            if (property instanceof CommercialProperty commercial && commercial.getBusinessType() != null) {
+                out.putInt(dictionary.computeIfAbsent(commercial.getBusinessType(), _ -> dictionary.size()));
+            } else {
+                out.putInt(-1);
+            }
+        }
+        sections[ADDRESS_OFFSETS] = out.position();
+        long addressOffset = 0;
+        out.putLong(addressOffset);
+        for (Property property : properties) {
+            addressOffset += utf8Length(property.getFullAddress());
+            out.putLong(addressOffset);
+        }
+        sections[ADDRESS_BYTES] = out.position();
+        for (Property property : properties) {
+            out.putBytes(property.getFullAddress().getBytes(StandardCharsets.UTF_8));
+        }
+        sections[DICTIONARY] = out.position();
+        out.putInt(dictionary.size());
+        for (String businessType : dictionary.keySet()) {
+            byte[] bytes = businessType.getBytes(StandardCharsets.UTF_8);
+            out.putInt(bytes.length);
+            out.putBytes(bytes);
+        }
+        sections[ADDRESS_HASH] = out.position();
+        int[] hashes = new int[properties.size()];
+        for (int row = 0; row < hashes.length; row++) {
+            hashes[row] = PropertyManager.normalizeAddress(properties.get(row).getFullAddress()).hashCode();
+            out.putInt(hashes[row]);
+        }
+        sections[ADDRESS_TABLE] = out.position();
+        int[] slots = new int[tableCapacity(hashes.length)];
+        for (int row = 0; row < hashes.length; row++) {
+            int slot = tableSlot(hashes[row], slots.length - 1);
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & (slots.length - 1);
+            }
+            slots[slot] = row + 1;
+        }
+        out.putInt(slots.length);
+        for (int slot : slots) {
+            out.putInt(slot);
+        }
+        sections[PRICE_ORDER] = out.position();
+        for (int row : sortByPrice(prices)) {
+            out.putInt(row);
+        }
+        out.flush();
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putLong(properties.size());
+        for (long section : sections) {
+            header.putLong(section);
+        }
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    public static List<Property> read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // A small version 1 file can be shorter than a version 2 header
+            ByteBuffer headerBuffer = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (headerBuffer.hasRemaining()) {
+                if (channel.read(headerBuffer, headerBuffer.position()) < 0) {
+                    break;
+                }
+            }
+            Header header = readHeader(headerBuffer.flip(), path);
+            List<String> dictionary = readDictionary(new ColumnReader(channel, header.sections()[DICTIONARY]));
+
+            ColumnReader types = new ColumnReader(channel, header.sections()[TYPE]);
+            ColumnReader statuses = new ColumnReader(channel, header.sections()[STATUS]);
+            ColumnReader prices = new ColumnReader(channel, header.sections()[PRICE]);
+            ColumnReader addedDates = new ColumnReader(channel, header.sections()[ADDED]);
+            ColumnReader bedrooms = new ColumnReader(channel, header.sections()[BEDROOMS]);
+            ColumnReader businessTypes = new ColumnReader(channel, header.sections()[BUSINESS_TYPE]);
+            ColumnReader addressOffsets = new ColumnReader(channel, header.sections()[ADDRESS_OFFSETS]);
+            ColumnReader addresses = new ColumnReader(channel, header.sections()[ADDRESS_BYTES]);
+
+            PropertyType[] typeValues = PropertyType.values();
+            PropertyStatus[] statusValues = PropertyStatus.values();
+            List<Property> properties = new ArrayList<>(Math.toIntExact(header.rowCount()));
+            long addressStart = addressOffsets.nextLong();
+            for (long row = 0; row < header.rowCount(); row++) {
+                PropertyType type = value(typeValues, types.nextByte(), "type", row, path);
+                PropertyStatus status = value(statusValues, statuses.nextByte(), "status", row, path);
+                double price = prices.nextDouble();
+                LocalDateTime addedDate = fromEpochNanos(addedDates.nextLong());
+                int bedroomCount = bedrooms.nextInt();
+                int businessType = businessTypes.nextInt();
+                long addressEnd = addressOffsets.nextLong();
+                String address = addresses.nextString(Math.toIntExact(addressEnd - addressStart));
+                addressStart = addressEnd;
+
+                Property property = type == PropertyType.RESIDENTIAL
+                        ? new ResidentialProperty(address, price, bedroomCount, addedDate)
+                        : new CommercialProperty(address, price, businessType < 0 ? null : dictionary.get(businessType), addedDate);
+                if (status != PropertyStatus.AVAILABLE) {
+                    property.updateStatus(status);
+                }
+                properties.add(property);
+            }
+            return properties;
+        }
+    }
+
+    // Reads a snapshot and adds every listing to the manager; returns how many were added
+    public static int load(Path path, PropertyManager manager) throws IOException {
+        int added = 0;
+        for (Property property : read(path)) {
+            if (manager.tryAddProperty(property).isSuccess()) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    // The sections array has VERSION_1_SECTION_COUNT entries for a version 1 file
+    static Header readHeader(ByteBuffer buffer, Path path) throws IOException {
+        ByteBuffer header = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (header.remaining() < 8 || header.getInt() != MAGIC) {
+            throw new IOException("Not a property snapshot file: " + path);
+        }
+        int version = header.getInt();
+        int sectionCount = switch (version) {
+            case VERSION -> SECTION_COUNT;
+            case VERSION_1 -> VERSION_1_SECTION_COUNT;
+            default -> throw new IOException("Unsupported property snapshot version " + version + ": " + path);
+        };
+        if (header.remaining() < headerSize(sectionCount) - 8) {
+            throw new EOFException("Truncated property snapshot: " + path);
+        }
+        long rowCount = header.getLong();
+        long[] sections = new long[sectionCount];
+        for (int i = 0; i < sectionCount; i++) {
+            sections[i] = header.getLong();
+        }
+        return new Header(rowCount, sections);
+    }
+
+    private static int headerSize(int sectionCount) {
+        return 4 + 4 + 8 + sectionCount * 8;
+    }
+
+    // Row numbers in ascending price order, equal prices in row order. A bottom-up merge sort that carries each
+    // row's price along with it, so it reads both arrays sequentially and boxes nothing.
+    private static int[] sortByPrice(double[] prices) {
+        int[] rows = new int[prices.length];
+        Arrays.setAll(rows, row -> row);
+        double[] keys = prices.clone();
+        int[] mergedRows = new int[rows.length];
+        double[] mergedKeys = new double[rows.length];
+        for (int width = 1; width < rows.length; width *= 2) {
+            for (int low = 0; low < rows.length; low += 2 * width) {
+                int middle = Math.min(low + width, rows.length);
+                int high = Math.min(low + 2 * width, rows.length);
+                int left = low;
+                int right = middle;
+                for (int i = low; i < high; i++) {
+                    int from = left < middle && (right == high || Double.compare(keys[left], keys[right]) <= 0)
+                            ? left++ : right++;
+                    mergedRows[i] = rows[from];
+                    mergedKeys[i] = keys[from];
+                }
+            }
+            int[] swapRows = rows;
+            rows = mergedRows;
+            mergedRows = swapRows;
+            double[] swapKeys = keys;
+            keys = mergedKeys;
+            mergedKeys = swapKeys;
+        }
+        return rows;
+    }
+
+    // Load factor of at most one half keeps probe sequences short for both hits and misses
+    static int tableCapacity(int rows) {
+        return Math.max(2, Integer.highestOneBit(Math.max(1, rows) * 2 - 1) << 1);
+    }
+
+    static int tableSlot(int hash, int mask) {
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    // Dates are stored as UTC epoch nanoseconds in a long, which covers 1677-09-21 to 2262-04-11
+    static long toEpochNanos(LocalDateTime dateTime) {
+        long seconds = dateTime.toEpochSecond(ZoneOffset.UTC);
+        long nanos = dateTime.getNano();
+        // As Duration.toNanos() does, so the earliest dates do not overflow before the nanoseconds are added
+        if (seconds < 0 && nanos > 0) {
+            seconds++;
+            nanos -= NANOS_PER_SECOND;
+        }
+        try {
+            return Math.addExact(Math.multiplyExact(seconds, NANOS_PER_SECOND), nanos);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Date out of the storable range 1677-09-21 to 2262-04-11: " + dateTime);
+        }
+    }
+
+    static boolean isStorable(LocalDateTime dateTime) {
+        return !dateTime.isBefore(MIN_STORABLE_DATE) && !dateTime.isAfter(MAX_STORABLE_DATE);
+    }
+
+    static LocalDateTime fromEpochNanos(long epochNanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(epochNanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    // A corrupt ordinal is reported as such rather than as an ArrayIndexOutOfBoundsException
+    private static <E extends Enum<E>> E value(E[] values, byte ordinal, String column, long row, Path path)
+            throws IOException {
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IOException("Invalid " + column + " " + ordinal + " in row " + row + " of " + path);
+        }
+        return values[ordinal];
+    }
+
+    private static List<String> readDictionary(ColumnReader in) throws IOException {
+        int size = in.nextInt();
+        List<String> dictionary = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            dictionary.add(in.nextString(in.nextInt()));
+        }
+        return dictionary;
+    }
+
+    // Bytes String.getBytes(UTF_8) will produce, computed without encoding; unpaired surrogates become '?'
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    // Buffers values in one direct buffer and hands it to the channel without an intermediate heap copy
+    private static final class ColumnWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private long flushed;
+
+        private ColumnWriter(FileChannel channel, long start) {
+            this.channel = channel;
+            this.flushed = start;
+        }
+
+        private long position() {
+            return flushed + buffer.position();
+        }
+
+        private void putByte(byte value) throws IOException {
+            ensure(Byte.BYTES);
+            buffer.put(value);
+        }
+
+        private void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        private void putLong(long value) throws IOException {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        private void putDouble(double value) throws IOException {
+            ensure(Double.BYTES);
+            buffer.putDouble(value);
+        }
+
+        private void putBytes(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensure(1);
+                int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                flushed += channel.write(buffer, flushed);
+            }
+            buffer.clear();
+        }
+    }
+
+    // Sequential reader over one section, refilled with positional reads so all columns share the channel
+    private static final class ColumnReader {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        private ColumnReader(FileChannel channel, long start) {
+            this.channel = channel;
+            this.position = start;
+            buffer.limit(0);
+        }
+
+        private byte nextByte() throws IOException {
+            require(Byte.BYTES);
+            return buffer.get();
+        }
+
+        private int nextInt() throws IOException {
+            require(Integer.BYTES);
+            return buffer.getInt();
+        }
+
+        private long nextLong() throws IOException {
+            require(Long.BYTES);
+            return buffer.getLong();
+        }
+
+        private double nextDouble() throws IOException {
+            require(Double.BYTES);
+            return buffer.getDouble();
+        }
+
+        private String nextString(int length) throws IOException {
+            byte[] bytes = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                require(1);
+                int chunk = Math.min(buffer.remaining(), length - offset);
+                buffer.get(bytes, offset, chunk);
+                offset += chunk;
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private void require(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return;
+            }
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new EOFException("Truncated property snapshot");
+                }
+                position += read;
+            }
+            buffer.flip();
+        }
+    }
+}
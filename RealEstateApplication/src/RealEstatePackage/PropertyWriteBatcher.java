@@ -0,0 +1,201 @@
+package RealEstatePackage;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Lock;
+
+// Funnels price and status writes from many request threads through one writer thread. The writer takes whatever
+// is queued, up to MAX_BATCH writes, and applies it as a batch: under the manager's lock once per batch instead of
+// once per write when the manager needs one, and with writes of the same kind to the same address coalesced so
+// only the last is applied. Each write is checked on its own first: an invalid one is rejected with its own reason
+// and coalesces with nothing. A write superseded by one that then succeeds completes with its own Success holding
+// the listing as the batch left it; if the superseding write fails, the writes it superseded are applied one by
+// one after all. Coalesced price changes leave no price history point. The queue is bounded; when it is full
+// submit fails rather than letting requests pile up without limit.
+final class PropertyWriteBatcher implements Closeable {
+    static final int DEFAULT_CAPACITY = 1 << 16;
+    static final int MAX_BATCH = 1024;
+
+    private final PropertyManager manager;
+    // Held while a batch is applied; null when the manager is thread-safe itself
+    private final Lock lock;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Thread writer;
+    private volatile boolean closed;
+    private long batches;
+    private long writes;
+    private long coalesced;
+
+    PropertyWriteBatcher(PropertyManager manager, Lock lock, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Write queue capacity must be at least 1: " + capacity);
+        }
+        this.manager = manager;
+        this.lock = lock;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = Thread.ofPlatform().daemon().name("property-writes").start(this::run);
+    }
+
+    CompletableFuture<PropertyResult> updatePrice(String address, double newPrice) {
+        return submit(new PendingWrite(WriteKind.PRICE, address, newPrice, null));
+    }
+
+    CompletableFuture<PropertyResult> updateStatus(String address, PropertyStatus newStatus) {
+        return submit(new PendingWrite(WriteKind.STATUS, address, 0, newStatus));
+    }
+
+    synchronized long getBatches() {
+        return batches;
+    }
+
+    synchronized long getWrites() {
+        return writes;
+    }
+
+    // Writes completed as superseded by a later successful write instead of being applied
+    synchronized long getCoalesced() {
+        return coalesced;
+    }
+
+    // Writes still queued when the writer stops fail with IllegalStateException
+    @Override
+    public void close() {
+        closed = true;
+        writer.interrupt();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        PendingWrite write;
+        while ((write = queue.poll()) != null) {
+            write.future.completeExceptionally(new IllegalStateException("Write batcher is closed"));
+        }
+    }
+
+    private CompletableFuture<PropertyResult> submit(PendingWrite write) {
+        if (closed) {
+            throw new IllegalStateException("Write batcher is closed");
+        }
+        if (!queue.offer(write)) {
+            throw new IllegalStateException("Write queue is full");
+        }
+        return write.future;
+    }
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>(MAX_BATCH);
+        while (!closed) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            try {
+                apply(batch);
+            } catch (RuntimeException e) {
+                // Failures of single writes are their own; this is the lock failing, so the writes not yet
+                // completed fail and later batches go ahead
+                for (PendingWrite write : batch) {
+                    write.future.completeExceptionally(e);
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private void apply(List<PendingWrite> batch) {
+        // Only valid writes take part in coalescing; the last one per key is applied
+        Map<String, PendingWrite> last = new HashMap<>();
+        for (PendingWrite write : batch) {
+            write.result = switch (write.kind) {
+                case PRICE -> PropertyManager.checkPriceUpdate(write.address, write.price);
+                case STATUS -> PropertyManager.checkStatusUpdate(write.address, write.status);
+            };
+            if (write.result == null) {
+                last.put(write.key, write);
+            }
+        }
+        int superseded = 0;
+        if (lock != null) {
+            lock.lock();
+        }
+        try {
+            for (PendingWrite write : batch) {
+                if (last.get(write.key) == write) {
+                    applyWrite(write);
+                }
+            }
+            for (PendingWrite write : batch) {
+                if (write.result != null || write.failure != null || last.get(write.key) == write) {
+                    continue;
+                }
+                if (last.get(write.key).result instanceof PropertyResult.Success(Property property)) {
+                    write.result = new PropertyResult.Success(property);
+                    superseded++;
+                } else {
+                    applyWrite(write);
+                }
+            }
+        } finally {
+            if (lock != null) {
+                lock.unlock();
+            }
+        }
+        synchronized (this) {
+            batches++;
+            writes += batch.size();
+            coalesced += superseded;
+        }
+        for (PendingWrite write : batch) {
+            if (write.failure != null) {
+                write.future.completeExceptionally(write.failure);
+            } else {
+                write.future.complete(write.result);
+            }
+        }
+    }
+
+    // A write that throws fails alone; the rest of the batch goes ahead
+    private void applyWrite(PendingWrite write) {
+        try {
+            write.result = switch (write.kind) {
+                case PRICE -> manager.tryUpdatePropertyPrice(write.address, write.price);
+                case STATUS -> manager.tryUpdatePropertyStatus(write.address, write.status);
+            };
+        } catch (RuntimeException e) {
+            write.failure = e;
+        }
+    }
+
+    private enum WriteKind {
+        PRICE, STATUS
+    }
+
+    private static final class PendingWrite {
+        private final WriteKind kind;
+        private final String address;
+        private final double price;
+        private final PropertyStatus status;
+        // Valid writes with equal keys overwrite each other
+        private final String key;
+        private final CompletableFuture<PropertyResult> future = new CompletableFuture<>();
+        private PropertyResult result;
+        private RuntimeException failure;
+
+        private PendingWrite(WriteKind kind, String address, double price, PropertyStatus status) {
+            this.kind = kind;
+            this.address = address;
+            this.price = price;
+            this.status = status;
+            this.key = kind + ":" + (address == null ? "" : PropertyManager.normalizeAddress(address));
+        }
+    }
+}
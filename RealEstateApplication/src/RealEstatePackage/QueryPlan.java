@@ -0,0 +1,48 @@
+package RealEstatePackage;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// How PropertyManager.search() answers a PropertyQuery: the access path with the lowest estimated cost,
+// the predicates still checked on every listing it yields, and whether the matches need a sort.
+// Row counts are estimates from the running aggregates, assuming prices spread evenly between min and max,
+// except for BITMAP_INDEX, whose count is exact.
+public record QueryPlan(PropertyQuery query, AccessPath accessPath, String accessDetail, long estimatedRows,
+                        long inventorySize, List<String> residualFilters, boolean sortRequired,
+                        Map<AccessPath, Long> costs) {
+    public enum AccessPath {
+        // The query cannot match anything, so nothing is read
+        EMPTY,
+        // Every listing in the snapshot, in insertion order
+        FULL_SCAN,
+        // The status and type bitmaps combined with AND / OR, in insertion order; exact row counts
+        BITMAP_INDEX,
+        // A range of the price index, in price order
+        PRICE_INDEX,
+        // Price ranges of the per type and status buckets, merged into price order
+        TYPE_STATUS_INDEX
+    }
+
+    public QueryPlan {
+        residualFilters = List.copyOf(residualFilters);
+        costs = Map.copyOf(costs);
+    }
+
+    public String explain() {
+        StringBuilder plan = new StringBuilder();
+        plan.append("Query:  ").append(query).append('\n');
+        plan.append("Access: ").append(accessPath).append(' ').append(accessDetail)
+                .append(" (~").append(estimatedRows).append(" of ").append(inventorySize).append(" rows)\n");
+        plan.append("Filter: ").append(residualFilters.isEmpty() ? "none" : String.join(", ", residualFilters)).append('\n');
+        plan.append("Sort:   ").append(query.getOrder() == PropertyQuery.Order.ANY ? "none"
+                : sortRequired ? query.getOrder().toString() : "none, " + accessPath + " is already in " + query.getOrder() + " order").append('\n');
+        plan.append("Page:   offset ").append(query.getOffset())
+                .append(query.getLimit() == Integer.MAX_VALUE ? ", no limit" : ", limit " + query.getLimit()).append('\n');
+        plan.append("Costs:  ").append(costs.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .map(cost -> cost.getKey() + " " + cost.getValue())
+                .collect(Collectors.joining(", ")));
+        return plan.toString();
+    }
+}
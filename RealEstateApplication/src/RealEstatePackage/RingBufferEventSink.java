@@ -0,0 +1,67 @@
+package RealEstatePackage;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+// Asynchronous appender: publishers drop events into a fixed-size ring buffer and a daemon thread
+// forwards them to the delegate. A full buffer drops the event instead of blocking the caller.
+public final class RingBufferEventSink implements PropertyEventSink {
+    private record Event(LogLevel level, String message) {
+    }
+
+    private final PropertyEventSink delegate;
+    private final BlockingQueue<Event> buffer; // ArrayBlockingQueue is a circular array under the hood
+    private final LongAdder dropped = new LongAdder();
+    private final Thread drainer;
+    private volatile boolean running = true;
+
+    public RingBufferEventSink(PropertyEventSink delegate, int capacity) {
+        this.delegate = delegate;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.drainer = Thread.ofPlatform().name("property-event-drain").daemon().start(this::drain);
+    }
+
+    @Override
+    public boolean isEnabled(LogLevel level) {
+        return running && delegate.isEnabled(level);
+    }
+
+    @Override
+    public void publish(LogLevel level, String message) {
+        if (!buffer.offer(new Event(level, message))) {
+            dropped.increment();
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private void drain() {
+        try {
+            while (running) {
+                Event event = buffer.take();
+                delegate.publish(event.level(), event.message());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Stops the drain thread, then forwards whatever is still buffered before closing the delegate
+    @Override
+    public void close() {
+        running = false;
+        drainer.interrupt();
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Event event = buffer.poll(); event != null; event = buffer.poll()) {
+            delegate.publish(event.level(), event.message());
+        }
+        delegate.close();
+    }
+}
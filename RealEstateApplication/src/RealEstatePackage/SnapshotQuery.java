@@ -0,0 +1,8 @@
+package RealEstatePackage;
+
+import java.util.List;
+
+@FunctionalInterface
+public interface SnapshotQuery<T, E extends Exception> {
+    T apply(List<Property> properties) throws E;
+}
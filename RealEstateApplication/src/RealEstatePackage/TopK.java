@@ -0,0 +1,75 @@
+package RealEstatePackage;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Collector;
+
+// The k smallest elements under an order, kept in a max-heap of at most k entries: O(n log k) time and O(k) memory
+// instead of sorting all n. Equal elements keep their encounter order, as with a stable sort followed by limit(k).
+final class TopK<T> {
+    private record Entry<T>(T value, long sequence) {
+    }
+
+    private final int k;
+    private final Comparator<? super T> valueOrder;
+    private final Comparator<Entry<T>> order;
+    // Largest kept entry on top, so it is the one to evict
+    private final PriorityQueue<Entry<T>> heap;
+    private long offered;
+
+    TopK(int k, Comparator<? super T> order) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k cannot be negative: " + k);
+        }
+        this.k = k;
+        this.valueOrder = order;
+        Comparator<Entry<T>> byValue = (a, b) -> order.compare(a.value(), b.value());
+        this.order = byValue.thenComparingLong(Entry::sequence);
+        this.heap = new PriorityQueue<>(Math.max(1, Math.min(k, 1024)), this.order.reversed());
+    }
+
+    // Collects the k smallest elements of a stream in ascending order; safe for parallel streams
+    static <T> Collector<T, ?, List<T>> collector(int k, Comparator<? super T> order) {
+        return Collector.of(() -> new TopK<T>(k, order), TopK::offer, TopK::merge, TopK::toList);
+    }
+
+    void offer(T value) {
+        long sequence = offered++;
+        // A full heap rejects most values, so check against its top before allocating an entry; on a tie the
+        // newcomer, encountered later, loses
+        if (heap.size() == k && (k == 0 || valueOrder.compare(value, heap.peek().value()) >= 0)) {
+            return;
+        }
+        offer(new Entry<>(value, sequence));
+    }
+
+    private void offer(Entry<T> entry) {
+        if (heap.size() < k) {
+            heap.add(entry);
+        } else if (k > 0 && order.compare(entry, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(entry);
+        }
+    }
+
+    // Folds in elements encountered after all of this one's
+    TopK<T> merge(TopK<T> later) {
+        for (Entry<T> entry : later.heap) {
+            offer(new Entry<>(entry.value(), offered + entry.sequence()));
+        }
+        offered += later.offered;
+        return this;
+    }
+
+    List<T> toList() {
+        List<Entry<T>> entries = new ArrayList<>(heap);
+        entries.sort(order);
+        List<T> values = new ArrayList<>(entries.size());
+        for (Entry<T> entry : entries) {
+            values.add(entry.value());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,87 @@
+package RealEstatePackage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Top-10 address suggestions from the trigram index against a contains() scan of every listing. Addresses are
+// "<number> <street> <suffix>" over 360 streets, so "oak" matches a sixtieth of the inventory, "sunset bl"
+// a three-hundred-sixtieth, and "4217 maple" a handful
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class AddressAutocompleteBenchmark {
+    private static final String[] NAMES = {"Oak", "Maple", "Cedar", "Pine", "Elm", "Birch", "Willow", "Spruce",
+            "Aspen", "Hickory", "Chestnut", "Walnut", "Magnolia", "Sycamore", "Juniper", "Laurel", "Cypress", "Poplar",
+            "Alder", "Hawthorn", "Main", "Church", "Market", "Mill", "Park", "River", "Lake", "Hill", "Spring",
+            "Meadow", "Forest", "Valley", "Highland", "Sunset", "Sunrise", "Harbor", "Bay", "Ocean", "Bridge",
+            "Station", "Franklin", "Jefferson", "Lincoln", "Madison", "Washington", "Adams", "Jackson", "Monroe",
+            "Hamilton", "Clinton", "Union", "Liberty", "Center", "College", "School", "King", "Queen", "Prospect",
+            "Grove", "Orchard"};
+    private static final String[] SUFFIXES = {"St", "Ave", "Rd", "Ln", "Blvd", "Dr"};
+    private static final int LIMIT = 10;
+
+    @Param({"100000", "2000000"})
+    int size;
+
+    @Param({"oak", "sunset bl", "4217 maple"})
+    String text;
+
+    private PropertyManager manager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PropertyEvents.setSink(PropertyEventSink.NONE);
+        manager = new PropertyManager();
+        int streets = NAMES.length * SUFFIXES.length;
+        for (int i = 0; i < size; i++) {
+            int street = i % streets;
+            String address = (i / streets + 1) + " " + NAMES[street / SUFFIXES.length] + " "
+                    + SUFFIXES[street % SUFFIXES.length];
+            manager.addProperty(new ResidentialProperty(address, 100_000 + i % 900_000, 1 + i % 6));
+        }
+        if (!manager.findPropertiesByAddressSubstring(text, LIMIT).equals(substringByScan())) {
+            throw new IllegalStateException("Index and scan results differ");
+        }
+    }
+
+    @Benchmark
+    public List<Property> autocomplete() {
+        return manager.autocompleteAddress(text, LIMIT);
+    }
+
+    @Benchmark
+    public List<Property> prefix() {
+        return manager.findPropertiesByAddressPrefix(text, LIMIT);
+    }
+
+    @Benchmark
+    public List<Property> substring() {
+        return manager.findPropertiesByAddressSubstring(text, LIMIT);
+    }
+
+    @Benchmark
+    public List<Property> substringByScan() {
+        String normalized = text.toLowerCase(Locale.ROOT);
+        return manager.getSnapshot().stream()
+                .filter(property -> property.getFullAddress().toLowerCase(Locale.ROOT).contains(normalized))
+                .limit(LIMIT)
+                .toList();
+    }
+}
@@ -0,0 +1,74 @@
+package RealEstatePackage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// A dashboard refresh (group by status, partition by type, map by address, sort by price) through a cached and an
+// uncached analyzer. refreshesPerWrite 0 never changes the inventory; otherwise one listing is repriced every that
+// many refreshes, which invalidates the cached results
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class AnalyzerCacheBenchmark {
+    @Param({"100000", "1000000"})
+    int size;
+
+    @Param({"0", "10", "1"})
+    int refreshesPerWrite;
+
+    private PropertyManager manager;
+    private PropertyAnalyzer cached;
+    private PropertyAnalyzer uncached;
+    private long refreshes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PropertyEvents.setSink(PropertyEventSink.NONE);
+        manager = SyntheticInventory.create(size);
+        cached = new PropertyAnalyzer(manager);
+        uncached = new PropertyAnalyzer(manager, null, 0, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.println(cached.getCacheStatistics());
+    }
+
+    @Benchmark
+    public void dashboardCached(Blackhole blackhole) {
+        refresh(cached, blackhole);
+    }
+
+    @Benchmark
+    public void dashboardUncached(Blackhole blackhole) {
+        refresh(uncached, blackhole);
+    }
+
+    private void refresh(PropertyAnalyzer analyzer, Blackhole blackhole) {
+        if (refreshesPerWrite > 0 && ++refreshes % refreshesPerWrite == 0) {
+            int index = (int) (refreshes / refreshesPerWrite % size);
+            manager.updatePropertyPrice(SyntheticInventory.address(index), 50_000 + refreshes % 950_000);
+        }
+        blackhole.consume(analyzer.groupPropertiesByStatus());
+        blackhole.consume(analyzer.partitionPropertiesByType());
+        blackhole.consume(analyzer.mapPropertiesByAddress());
+        blackhole.consume(analyzer.sortPropertiesByPrice());
+    }
+}
@@ -0,0 +1,82 @@
+package RealEstatePackage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Status and type filters through the bitmap indexes against the same filters as a scan of every listing
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+@State(Scope.Benchmark)
+public class BitmapIndexBenchmark {
+    @Param({"100000", "1000000"})
+    int size;
+
+    private PropertyManager manager;
+    private PropertyAnalyzer analyzer;
+    private PropertyQuery soldCommercial;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PropertyEvents.setSink(PropertyEventSink.NONE);
+        manager = SyntheticInventory.create(size);
+        analyzer = new PropertyAnalyzer(manager, null, 0, 0);
+        soldCommercial = PropertyQuery.builder()
+                .status(PropertyStatus.SOLD)
+                .type(PropertyType.COMMERCIAL)
+                .build();
+        if (!analyzer.groupPropertiesByStatus().equals(analyzer.groupPropertiesByStatusByScan())
+                || !analyzer.partitionPropertiesByType().equals(analyzer.partitionPropertiesByTypeByScan())) {
+            throw new IllegalStateException("Bitmap and scan results differ");
+        }
+    }
+
+    @Benchmark
+    public Map<PropertyStatus, List<Property>> groupByStatus() {
+        return analyzer.groupPropertiesByStatus();
+    }
+
+    @Benchmark
+    public Map<PropertyStatus, List<Property>> groupByStatusByScan() {
+        return analyzer.groupPropertiesByStatusByScan();
+    }
+
+    @Benchmark
+    public Map<Boolean, List<Property>> partitionByType() {
+        return analyzer.partitionPropertiesByType();
+    }
+
+    @Benchmark
+    public Map<Boolean, List<Property>> partitionByTypeByScan() {
+        return analyzer.partitionPropertiesByTypeByScan();
+    }
+
+    @Benchmark
+    public List<Property> soldCommercialSearch() {
+        return manager.search(soldCommercial);
+    }
+
+    @Benchmark
+    public List<Property> soldCommercialByScan() {
+        return manager.getSnapshot().stream()
+                .filter(property -> property.getStatus() == PropertyStatus.SOLD)
+                .filter(property -> property.getType() == PropertyType.COMMERCIAL)
+                .toList();
+    }
+}
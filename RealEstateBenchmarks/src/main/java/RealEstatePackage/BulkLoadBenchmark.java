@@ -0,0 +1,67 @@
+package RealEstatePackage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Listings loaded per second with the default no-op sink, the asynchronous ring buffer, and the old
+// behaviour of printing every validation and insert synchronously to an auto-flushing console stream
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkLoadBenchmark {
+    private static final int LISTINGS = 100_000;
+
+    @Param({"none", "ringBuffer", "console"})
+    String sink;
+
+    private Path consoleFile;
+    private PrintStream console;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // A file stands in for a redirected System.out so the run pays for real writes
+        consoleFile = Files.createTempFile("bulk-load-console", ".log");
+        console = new PrintStream(Files.newOutputStream(consoleFile), true);
+        ConsoleEventSink consoleSink = new ConsoleEventSink(LogLevel.DEBUG, console);
+        PropertyEvents.setSink(switch (sink) {
+            case "ringBuffer" -> new RingBufferEventSink(consoleSink, 65_536);
+            case "console" -> consoleSink;
+            default -> PropertyEventSink.NONE;
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        PropertyEvents.getSink().close();
+        PropertyEvents.setSink(null);
+        console.close();
+        Files.deleteIfExists(consoleFile);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LISTINGS)
+    public PropertyManager loadListings() {
+        return SyntheticInventory.create(LISTINGS);
+    }
+}
@@ -0,0 +1,89 @@
+package RealEstatePackage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// updatePropertyPrice with no change feed, a feed nobody follows, a subscriber that keeps up, and one that
+// requested a single batch and never asks for more (its changes pile up in the ring until it is overrun)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ChangeFeedBenchmark {
+    private static final int SIZE = 100_000;
+
+    @Param({"none", "unsubscribed", "following", "stalled"})
+    String feedMode;
+
+    private PropertyManager manager;
+    private PropertyChangeFeed feed;
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private long updates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PropertyEvents.setSink(PropertyEventSink.NONE);
+        manager = SyntheticInventory.create(SIZE);
+        if (!feedMode.equals("none")) {
+            feed = PropertyChangeFeed.open(manager);
+        }
+        if (feedMode.equals("following") || feedMode.equals("stalled")) {
+            long request = feedMode.equals("following") ? Long.MAX_VALUE : 1;
+            feed.subscribe(new Flow.Subscriber<>() {
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    subscription.request(request);
+                }
+
+                @Override
+                public void onNext(List<PropertyChange> changes) {
+                    batches.incrementAndGet();
+                    delivered.addAndGet(changes.size());
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (feed != null) {
+            System.out.printf("%d changes published, %d delivered in %d batches%n",
+                    feed.getLastSequence(), delivered.get(), batches.get());
+            feed.close();
+        }
+    }
+
+    @Benchmark
+    public PropertyResult updatePrice() {
+        updates++;
+        return manager.tryUpdatePropertyPrice(SyntheticInventory.address((int) (updates % SIZE)),
+                50_000 + updates % 950_000);
+    }
+}
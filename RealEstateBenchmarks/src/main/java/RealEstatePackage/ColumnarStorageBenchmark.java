@@ -0,0 +1,82 @@
+package RealEstatePackage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Price updates and price scans with object storage against PropertyColumns; run with -prof gc for bytes per update
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+@State(Scope.Benchmark)
+public class ColumnarStorageBenchmark {
+    private static final int SAMPLE_SIZE = 1024;
+
+    @Param({"object", "columnar"})
+    String storage;
+
+    @Param({"100000"})
+    int size;
+
+    private PropertyManager manager;
+    private List<Property> listings;
+    private Property unmanaged;
+    private String[] addresses;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PropertyEvents.setSink(PropertyEventSink.NONE);
+        manager = SyntheticInventory.fill(storage.equals("columnar") ? new ColumnarPropertyManager() : new PropertyManager(), size);
+        listings = manager.getSnapshot();
+        // A listing with no manager listening, so only the storage write is measured
+        unmanaged = new ResidentialProperty("1 Benchmark Rd", 100_000, 3);
+        if (storage.equals("columnar")) {
+            unmanaged.moveTo(new PropertyColumns());
+        }
+        addresses = new String[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            addresses[i] = SyntheticInventory.address(i * (size / SAMPLE_SIZE));
+        }
+    }
+
+    private int next() {
+        return cursor = (cursor + 1) & (SAMPLE_SIZE - 1);
+    }
+
+    @Benchmark
+    public double propertyUpdatePrice() {
+        unmanaged.updatePrice(50_000 + next());
+        return unmanaged.getPrice();
+    }
+
+    // Includes the manager's price index and aggregate maintenance
+    @Benchmark
+    public PropertyResult managerUpdatePrice() {
+        int i = next();
+        return manager.tryUpdatePropertyPrice(addresses[i], 50_000 + i);
+    }
+
+    @Benchmark
+    public double sumPrices() {
+        double total = 0;
+        for (Property property : listings) {
+            total += property.getPrice();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,124 @@
+package RealEstatePackage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Hammers ConcurrentPropertyManager with mixed writers plus an analyzer reader, verifies the indexes
+// afterwards and reports mutation throughput per thread count
+public class ConcurrentPropertyManagerStress {
+    private static final int LISTINGS = 100_000;
+    private static final long RUN_MILLIS = 2_000;
+
+    public static void main(String[] args) throws Exception {
+        run(4, true); // JIT warm-up
+        for (int threads : new int[]{1, 4, 16}) {
+            System.out.println(run(threads, false));
+            System.out.println(run(threads, true));
+        }
+    }
+
+    private static String run(int threadCount, boolean withAnalyzer) throws Exception {
+        ConcurrentPropertyManager manager = SyntheticInventory.fill(new ConcurrentPropertyManager(64), LISTINGS);
+        PropertyAnalyzer analyzer = new PropertyAnalyzer(manager);
+        // Writer t owns every address whose index % threadCount == t, so it always knows the latest price
+        double[] expectedPrices = new double[LISTINGS];
+        for (int i = 0; i < LISTINGS; i++) {
+            expectedPrices[i] = manager.searchProperty(SyntheticInventory.address(i)).getPrice();
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong operations = new AtomicLong();
+        AtomicLong analyzerQueries = new AtomicLong();
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            int owner = t;
+            writers.add(Thread.ofPlatform().start(() -> {
+                SplittableRandom random = new SplittableRandom(owner);
+                long done = 0;
+                while (running.get()) {
+                    int index = owner + threadCount * random.nextInt((LISTINGS - owner + threadCount - 1) / threadCount);
+                    String address = SyntheticInventory.address(index);
+                    int op = random.nextInt(100);
+                    if (op < 70) {
+                        double price = 50_000 + random.nextInt(950_000);
+                        manager.updatePropertyPrice(address, price);
+                        expectedPrices[index] = price;
+                    } else if (op < 80) {
+                        manager.updatePropertyStatus(address, random.nextBoolean() ? PropertyStatus.SOLD : PropertyStatus.AVAILABLE);
+                    } else if (op < 90) {
+                        if (manager.searchProperty(address) == null) {
+                            failure.compareAndSet(null, "Lost property " + address);
+                        }
+                    } else {
+                        manager.removeProperty(address);
+                        Property replacement = SyntheticInventory.property(index, random);
+                        manager.addProperty(replacement);
+                        expectedPrices[index] = replacement.getPrice();
+                    }
+                    done++;
+                }
+                operations.addAndGet(done);
+            }));
+        }
+        Thread reader = Thread.ofPlatform().start(() -> {
+            while (withAnalyzer && running.get()) {
+                try {
+                    analyzer.calculateTotalPriceConcurrently();
+                    int size = manager.query(List::size);
+                    // Each writer can be between the remove and add of a single listing
+                    if (size < LISTINGS - threadCount || size > LISTINGS) {
+                        failure.compareAndSet(null, "Inconsistent snapshot size " + size);
+                    }
+                    analyzerQueries.incrementAndGet();
+                    Thread.sleep(10); // Dashboard-style refresh cadence rather than a busy loop
+                } catch (Exception e) {
+                    failure.compareAndSet(null, "Analyzer failed: " + e);
+                }
+            }
+        });
+
+        Thread.sleep(RUN_MILLIS);
+        running.set(false);
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        reader.join();
+
+        verify(manager, expectedPrices, failure);
+        if (failure.get() != null) {
+            throw new IllegalStateException(threadCount + " threads: " + failure.get());
+        }
+        return String.format("%2d threads: %,10d mutations/s, %,4d analyzer queries, indexes verified",
+                threadCount, operations.get() * 1000 / RUN_MILLIS, analyzerQueries.get());
+    }
+
+    private static void verify(PropertyManager manager, double[] expectedPrices, AtomicReference<String> failure) {
+        if (manager.getSnapshot().size() != LISTINGS) {
+            failure.compareAndSet(null, "Snapshot has " + manager.getSnapshot().size() + " listings");
+        }
+        List<Property> byPrice = manager.getPropertiesSortedByPrice();
+        if (byPrice.size() != LISTINGS) {
+            failure.compareAndSet(null, "Price index has " + byPrice.size() + " entries");
+        }
+        for (int i = 1; i < byPrice.size(); i++) {
+            if (byPrice.get(i - 1).getPrice() > byPrice.get(i).getPrice()) {
+                failure.compareAndSet(null, "Price index out of order at " + i);
+            }
+        }
+        if (!new PropertyAnalyzer(manager).verifyPriceStatistics()) {
+            failure.compareAndSet(null, "Running price statistics disagree with a full scan");
+        }
+        for (int i = 0; i < LISTINGS; i++) {
+            Property property = manager.searchProperty(SyntheticInventory.address(i));
+            if (property == null || property.getPrice() != expectedPrices[i]) {
+                failure.compareAndSet(null, "Lost update at " + SyntheticInventory.address(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package RealEstatePackage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Imports a generated MLS-style feed (one row in a thousand malformed) with PropertyCsvImporter at several
+// parallelism levels, next to the old way of reading lines and calling addProperty one at a time
+public class CsvImportThroughput {
+    private static final int ROWS = 1_000_000;
+
+    public static void main(String[] args) throws IOException {
+        PropertyEvents.setSink(PropertyEventSink.NONE);
+        Path feed = Files.createTempFile("listings", ".csv");
+        try {
+            writeFeed(feed);
+            System.out.printf("Feed: %,d rows, %,d bytes%n", ROWS, Files.size(feed));
+            sequential(feed); // JIT warm-up
+            System.out.println("one at a time:       " + sequential(feed));
+            int processors = Runtime.getRuntime().availableProcessors();
+            for (int parallelism : new int[]{1, processors, processors * 2}) {
+                PropertyCsvImporter.ImportReport report = new PropertyCsvImporter(PropertyCsvImporter.DEFAULT_BATCH_SIZE,
+                        parallelism).importFile(feed, new PropertyManager());
+                System.out.printf("importer, %2d parser(s): %s%n", parallelism, report);
+            }
+        } finally {
+            Files.deleteIfExists(feed);
+        }
+    }
+
+    private static void writeFeed(Path feed) throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        try (BufferedWriter out = Files.newBufferedWriter(feed, StandardCharsets.UTF_8)) {
+            out.write("type,address,price,status,bedrooms,business_type\n");
+            for (int i = 0; i < ROWS; i++) {
+                String price = i % 1000 == 999 ? "-1" : Integer.toString(50_000 + random.nextInt(950_000));
+                String status = i % 4 == 0 ? "SOLD" : "AVAILABLE";
+                if (i % 3 == 0) {
+                    out.write("COMMERCIAL,\"" + SyntheticInventory.address(i) + ", Suite 1\"," + price + "," + status + ",,Retail\n");
+                } else {
+                    out.write("RESIDENTIAL," + SyntheticInventory.address(i) + "," + price + "," + status + ","
+                            + (1 + random.nextInt(6)) + ",\n");
+                }
+            }
+        }
+    }
+
+    // What a caller had to write before: parse each line and add it, stopping at nothing but catching everything
+    private static String sequential(Path feed) throws IOException {
+        long start = System.nanoTime();
+        PropertyManager manager = new PropertyManager();
+        long rows = 0;
+        long rejected = 0;
+        try (BufferedReader in = Files.newBufferedReader(feed, StandardCharsets.UTF_8)) {
+            in.readLine();
+            String line;
+            List<String> fields = new ArrayList<>();
+            while ((line = in.readLine()) != null) {
+                rows++;
+                fields.clear();
+                PropertyCsvImporter.splitFields(line, fields);
+                try {
+                    double price = Double.parseDouble(fields.get(2));
+                    Property property = fields.get(0).equals("RESIDENTIAL")
+                            ? new ResidentialProperty(fields.get(1), price, Integer.parseInt(fields.get(4)))
+                            : new CommercialProperty(fields.get(1), price, fields.get(5));
+                    property.updateStatus(PropertyStatus.valueOf(fields.get(3)));
+                    if (!manager.addProperty(property)) {
+                        rejected++;
+                    }
+                } catch (IllegalArgumentException e) {
+                    rejected++;
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return String.format("Read %d rows, rejected %d in %.0f ms (%.0f rows/s)", rows, rejected, seconds * 1000, rows / seconds);
+    }
+}
@@ -0,0 +1,146 @@
+package RealEstatePackage;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Closed-loop load on PropertyHttpService over loopback: each client is a virtual thread that sends a request,
+// waits for the answer and sends the next. The mix is 60% address lookups, 15% autocomplete, 10% price-range
+// searches, 10% price updates and 5% status updates over 100k listings. Reports throughput and p50/p99/p99.9
+// latency per client count, separately for reads and the batched writes, and how many writes each batch held.
+public class HttpServiceLoadTest {
+    private static final int LISTINGS = 100_000;
+    private static final long WARMUP_MILLIS = 3_000;
+    private static final long RUN_MILLIS = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        PropertyEvents.setSink(PropertyEventSink.NONE);
+        int[] clientCounts = args.length > 0
+                ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[]{1_000, 2_000};
+        for (PropertyManager manager : List.of(SyntheticInventory.fill(new ConcurrentPropertyManager(), LISTINGS),
+                SyntheticInventory.create(LISTINGS))) {
+            try (PropertyHttpService service = PropertyHttpService.start(manager, 0)) {
+                for (int clients : clientCounts) {
+                    System.out.println(run(manager.getClass().getSimpleName(), service.getPort(), clients));
+                }
+                System.out.print(batching(service.getPort()));
+            }
+        }
+    }
+
+    private static String run(String managerName, int port, int clientCount) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String base = "http://localhost:" + port;
+        AtomicBoolean measuring = new AtomicBoolean();
+        AtomicBoolean running = new AtomicBoolean(true);
+        LatencyHistogram reads = new LatencyHistogram();
+        LatencyHistogram writes = new LatencyHistogram();
+        AtomicLong errors = new AtomicLong();
+
+        List<Thread> clients = new ArrayList<>(clientCount);
+        for (int c = 0; c < clientCount; c++) {
+            int seed = c;
+            clients.add(Thread.ofVirtual().start(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                while (running.get()) {
+                    int op = random.nextInt(100);
+                    String address = encode(SyntheticInventory.address(random.nextInt(LISTINGS)));
+                    HttpRequest request = switch (op / 5) {
+                        case 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11 -> get(base + "/properties?address=" + address);
+                        case 12, 13, 14 -> get(base + "/properties/autocomplete?q="
+                                + encode(random.nextInt(1_000) + " synth") + "&limit=10");
+                        case 15, 16 -> {
+                            int min = 50_000 + random.nextInt(900_000);
+                            yield get(base + "/properties/price-range?min=" + min + "&max=" + (min + 500) + "&limit=20");
+                        }
+                        case 17, 18 -> post(base + "/properties/price?address=" + address
+                                + "&price=" + (50_000 + random.nextInt(950_000)));
+                        default -> post(base + "/properties/status?address=" + address
+                                + "&status=" + (random.nextBoolean() ? "SOLD" : "AVAILABLE"));
+                    };
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    if (measuring.get()) {
+                        (op >= 85 ? writes : reads).record(System.nanoTime() - start);
+                    }
+                }
+            }));
+        }
+        Thread.sleep(WARMUP_MILLIS);
+        measuring.set(true);
+        long start = System.nanoTime();
+        Thread.sleep(RUN_MILLIS);
+        measuring.set(false);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        running.set(false);
+        for (Thread thread : clients) {
+            thread.join();
+        }
+        client.close();
+
+        long total = reads.count() + writes.count();
+        return String.format("%-26s %5d clients %9.0f req/s  reads p50 %6.2f p99 %7.2f p99.9 %7.2f ms"
+                        + "  writes p50 %6.2f p99 %7.2f p99.9 %7.2f ms  errors %d",
+                managerName, clientCount, total / seconds,
+                reads.percentile(0.50) / 1e6, reads.percentile(0.99) / 1e6, reads.percentile(0.999) / 1e6,
+                writes.percentile(0.50) / 1e6, writes.percentile(0.99) / 1e6, writes.percentile(0.999) / 1e6,
+                errors.get());
+    }
+
+    // The batcher's counters from /metrics
+    private static String batching(int port) throws Exception {
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            String metrics = client.send(get("http://localhost:" + port + "/metrics"),
+                    HttpResponse.BodyHandlers.ofString()).body();
+            long batches = 0;
+            long total = 0;
+            StringBuilder lines = new StringBuilder();
+            for (String line : metrics.lines().filter(line -> line.startsWith("writes.")).toList()) {
+                lines.append(line).append(System.lineSeparator());
+                long value = Long.parseLong(line.substring(line.lastIndexOf(' ') + 1));
+                if (line.startsWith("writes.batches")) {
+                    batches = value;
+                } else if (line.startsWith("writes.total")) {
+                    total = value;
+                }
+            }
+            return lines + String.format("%-52s %10.1f%n", "writes per batch", batches == 0 ? 0 : (double) total / batches);
+        }
+    }
+
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private static HttpRequest post(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,91 @@
+package RealEstatePackage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.NumberFormat;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+
+// The lines displayPropertiesInLocale() prints, rendered into a Blackhole so output does not dominate: the old
+// bundle, NumberFormat and DateTimeFormatter setup per row against the cached per-locale context
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class LocalizedRenderingBenchmark {
+    @Param({"en-US", "fr-FR"})
+    String languageTag;
+
+    @Param({"100000"})
+    int size;
+
+    private Locale locale;
+    private List<Property> properties;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PropertyEvents.setSink(PropertyEventSink.NONE);
+        locale = Locale.forLanguageTag(languageTag);
+        properties = SyntheticInventory.create(size).getSnapshot();
+        for (Property property : properties.subList(0, 100)) {
+            if (!uncachedLine(property).equals(LocalizedRendering.of(locale).line(property))) {
+                throw new IllegalStateException("Cached rendering differs for " + property.getFullAddress());
+            }
+        }
+    }
+
+    @Benchmark
+    public void renderUncached(Blackhole blackhole) {
+        for (Property property : properties) {
+            blackhole.consume(uncachedLine(property));
+        }
+    }
+
+    @Benchmark
+    public void renderCached(Blackhole blackhole) {
+        LocalizedRendering rendering = LocalizedRendering.of(locale);
+        for (Property property : properties) {
+            blackhole.consume(rendering.line(property));
+        }
+    }
+
+    @Benchmark
+    public void renderThroughPropertyGetters(Blackhole blackhole) {
+        for (Property property : properties) {
+            blackhole.consume(property.getFormattedAddress(locale));
+            blackhole.consume(property.getFormattedPrice(locale));
+            blackhole.consume(property.getLocalizedStatus(locale));
+            blackhole.consume(property.getFormattedAddedDate(locale));
+        }
+    }
+
+    // The per-row lookups Property and displayPropertiesInLocale() made before the cache
+    private String uncachedLine(Property property) {
+        ResourceBundle messages = ResourceBundle.getBundle("messages", locale);
+        String address = property.getFullAddress() + " " + ResourceBundle.getBundle("messages", locale).getString("address.street");
+        String price = NumberFormat.getCurrencyInstance(locale).format(property.getPrice());
+        String status = ResourceBundle.getBundle("messages", locale).getString("status." + property.getStatus().name().toLowerCase());
+        String added = property.getAddedDate().format(DateTimeFormatter.ofPattern("dd MMMM yyyy HH:mm", locale));
+        return messages.getString("display.address") + ": " + address +
+                ", " + messages.getString("display.price") + ": " + price +
+                ", " + messages.getString("display.status") + ": " + status +
+                ", " + messages.getString("display.added") + ": " + added;
+    }
+}
@@ -0,0 +1,112 @@
+package RealEstatePackage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Hit and miss latency of address lookups: the former throw-and-catch miss path, the console-facing
+// searchProperty, and the exception-free findProperty / tryUpdatePropertyPrice
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LookupMissBenchmark {
+    private static final int SAMPLE_SIZE = 1024;
+
+    @Param({"100000"})
+    int size;
+
+    private PropertyManager manager;
+    private String[] hits;
+    private String[] misses;
+    private int cursor;
+    private PrintStream console;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        manager = SyntheticInventory.create(size);
+        hits = new String[SAMPLE_SIZE];
+        misses = new String[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            hits[i] = SyntheticInventory.address(i * (size / SAMPLE_SIZE));
+            misses[i] = SyntheticInventory.address(size + i);
+        }
+        console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream())); // The console-facing methods report misses
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(console);
+    }
+
+    private int next() {
+        return cursor = (cursor + 1) & (SAMPLE_SIZE - 1);
+    }
+
+    // Reproduces searchProperty(String) as it was before PropertyResult: a miss throws and catches
+    private Property exceptionLookup(String address) {
+        try {
+            Property property = manager.findProperty(address).orElse(null);
+            if (property == null) {
+                throw new NullPointerException("Property not found: " + address);
+            }
+            return property;
+        } catch (NullPointerException e) {
+            System.out.println("Error at method searchProperty(): " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Property exceptionLookupHit() {
+        return exceptionLookup(hits[next()]);
+    }
+
+    @Benchmark
+    public Property exceptionLookupMiss() {
+        return exceptionLookup(misses[next()]);
+    }
+
+    @Benchmark
+    public Property searchPropertyHit() {
+        return manager.searchProperty(hits[next()]);
+    }
+
+    @Benchmark
+    public Property searchPropertyMiss() {
+        return manager.searchProperty(misses[next()]);
+    }
+
+    @Benchmark
+    public Optional<Property> findPropertyHit() {
+        return manager.findProperty(hits[next()]);
+    }
+
+    @Benchmark
+    public Optional<Property> findPropertyMiss() {
+        return manager.findProperty(misses[next()]);
+    }
+
+    @Benchmark
+    public PropertyResult tryUpdatePropertyPriceMiss() {
+        return manager.tryUpdatePropertyPrice(misses[next()], 100_000);
+    }
+}
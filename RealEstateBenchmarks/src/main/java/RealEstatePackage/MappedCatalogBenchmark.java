@@ -0,0 +1,103 @@
+package RealEstatePackage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Lookup latency against the memory-mapped catalog next to the same lookups on a loaded PropertyManager
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+@State(Scope.Benchmark)
+public class MappedCatalogBenchmark {
+    private static final int SAMPLE_SIZE = 1024;
+
+    @Param({"1000000"})
+    int size;
+
+    private PropertyManager manager;
+    private MappedPropertyCatalog catalog;
+    private Path snapshotFile;
+    private String[] hits;
+    private String[] misses;
+    private double[] rangeStarts;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        manager = SyntheticInventory.create(size);
+        snapshotFile = Files.createTempFile("inventory", ".snapshot");
+        PropertySnapshotFile.write(manager.getSnapshot(), snapshotFile);
+        catalog = MappedPropertyCatalog.open(snapshotFile);
+        hits = new String[SAMPLE_SIZE];
+        misses = new String[SAMPLE_SIZE];
+        rangeStarts = new double[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            hits[i] = SyntheticInventory.address(i * (size / SAMPLE_SIZE));
+            misses[i] = SyntheticInventory.address(size + i);
+            rangeStarts[i] = 50_000 + i * 900.0;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        catalog.close();
+        Files.deleteIfExists(snapshotFile);
+    }
+
+    private int next() {
+        return cursor = (cursor + 1) & (SAMPLE_SIZE - 1);
+    }
+
+    @Benchmark
+    public Optional<Property> managerFindHit() {
+        return manager.findProperty(hits[next()]);
+    }
+
+    @Benchmark
+    public Optional<Property> catalogFindHit() {
+        return catalog.findProperty(hits[next()]);
+    }
+
+    @Benchmark
+    public Optional<Property> managerFindMiss() {
+        return manager.findProperty(misses[next()]);
+    }
+
+    @Benchmark
+    public Optional<Property> catalogFindMiss() {
+        return catalog.findProperty(misses[next()]);
+    }
+
+    // Narrow ranges of about 100 listings each
+    @Benchmark
+    public List<Property> managerPriceRange() {
+        double min = rangeStarts[next()];
+        return manager.findPropertiesInPriceRange(min, min + 100 * 950_000.0 / size);
+    }
+
+    @Benchmark
+    public List<Property> catalogPriceRange() {
+        double min = rangeStarts[next()];
+        return catalog.findPropertiesInPriceRange(min, min + 100 * 950_000.0 / size);
+    }
+}
@@ -0,0 +1,96 @@
+package RealEstatePackage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Cost of the PropertyMetrics instrumentation on the cheapest instrumented calls, with metrics off and on; the
+// plain map lookup is the same work as findProperty() with no instrumentation at all
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+    private static final int SAMPLE_SIZE = 1024;
+
+    @Param({"false", "true"})
+    boolean metrics;
+
+    @Param({"100000"})
+    int size;
+
+    private PropertyManager manager;
+    private Map<String, Property> plainIndex;
+    private String[] hits;
+    private String[] misses;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PropertyEvents.setSink(PropertyEventSink.NONE);
+        manager = SyntheticInventory.create(size);
+        plainIndex = new HashMap<>();
+        manager.getSnapshot().forEach(property ->
+                plainIndex.put(PropertyManager.normalizeAddress(property.getFullAddress()), property));
+        hits = new String[SAMPLE_SIZE];
+        misses = new String[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            hits[i] = SyntheticInventory.address(i * (size / SAMPLE_SIZE));
+            misses[i] = SyntheticInventory.address(size + i);
+        }
+        PropertyMetrics.setEnabled(metrics);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        PropertyMetrics.setEnabled(false);
+        PropertyMetrics.reset();
+    }
+
+    private int next() {
+        return cursor = (cursor + 1) & (SAMPLE_SIZE - 1);
+    }
+
+    @Benchmark
+    public Optional<Property> plainLookupHit() {
+        return Optional.ofNullable(plainIndex.get(PropertyManager.normalizeAddress(hits[next()])));
+    }
+
+    @Benchmark
+    public Optional<Property> findPropertyHit() {
+        return manager.findProperty(hits[next()]);
+    }
+
+    @Benchmark
+    public Optional<Property> findPropertyMiss() {
+        return manager.findProperty(misses[next()]);
+    }
+
+    @Benchmark
+    public PropertyResult tryUpdatePropertyPriceHit() {
+        int i = next();
+        return manager.tryUpdatePropertyPrice(hits[i], 100_000 + i);
+    }
+
+    @Benchmark
+    public PropertyResult tryUpdatePropertyPriceMiss() {
+        return manager.tryUpdatePropertyPrice(misses[next()], 100_000);
+    }
+}
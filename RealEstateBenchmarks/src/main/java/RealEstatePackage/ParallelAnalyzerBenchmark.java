@@ -0,0 +1,124 @@
+package RealEstatePackage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Analyzer scans in sequential mode (parallelism 0) and on ForkJoinPools of growing size; pass
+// -p parallelism=0,1,2,...,<cores> to cover a particular machine. Setup fails if any parallel result
+// differs from the sequential one.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+@State(Scope.Benchmark)
+public class ParallelAnalyzerBenchmark {
+    @Param({"0", "1", "2", "4", "8"})
+    int parallelism;
+
+    @Param({"1000000"})
+    int size;
+
+    private ForkJoinPool pool;
+    private PropertyAnalyzer analyzer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PropertyManager manager = SyntheticInventory.create(size);
+        pool = parallelism == 0 ? null : new ForkJoinPool(parallelism);
+        // Without the result cache, so both modes redo the work on every call
+        analyzer = new PropertyAnalyzer(manager, pool, 0, 0);
+        if (pool != null) {
+            verifySameResults(new PropertyAnalyzer(manager, null, 0, 0), analyzer);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private static void verifySameResults(PropertyAnalyzer sequential, PropertyAnalyzer parallel) {
+        check("groupPropertiesByStatus", sequential.groupPropertiesByStatus(), parallel.groupPropertiesByStatus());
+        check("mapPropertiesByAddress", sequential.mapPropertiesByAddress(), parallel.mapPropertiesByAddress());
+        check("partitionPropertiesByType", sequential.partitionPropertiesByType(), parallel.partitionPropertiesByType());
+        check("getLimitedDistinctAddressesByPrice", sequential.getLimitedDistinctAddressesByPrice(1000),
+                parallel.getLimitedDistinctAddressesByPrice(1000));
+        check("sortPropertiesByPriceByScan", sequential.sortPropertiesByPriceByScan(), parallel.sortPropertiesByPriceByScan());
+        check("sortPropertiesByPrice", sequential.sortPropertiesByPrice(), parallel.sortPropertiesByPriceByScan());
+        check("findCheapestPropertyByScan", sequential.findCheapestProperty(), parallel.findCheapestPropertyByScan());
+        check("findMostExpensivePropertyByScan", sequential.findMostExpensiveProperty(),
+                parallel.findMostExpensivePropertyByScan());
+        check("filterPropertiesByCondition", sequential.filterPropertiesByCondition(500_000, PropertyStatus.AVAILABLE),
+                parallel.filterPropertiesByCondition(500_000, PropertyStatus.AVAILABLE));
+        check("areAllPropertiesSoldByScan", sequential.areAllPropertiesSoldByScan(), parallel.areAllPropertiesSoldByScan());
+        check("isAnyPropertyAvailableByScan", sequential.isAnyPropertyAvailableByScan(),
+                parallel.isAnyPropertyAvailableByScan());
+        check("areNoPropertiesBelowPrice", sequential.areNoPropertiesBelowPrice(60_000),
+                parallel.areNoPropertiesBelowPrice(60_000));
+        check("calculateTotalPriceConcurrently", sequential.calculateTotalPriceConcurrently(),
+                parallel.calculateTotalPriceConcurrently());
+        check("verifyPriceStatistics", true, parallel.verifyPriceStatistics());
+    }
+
+    private static void check(String analysis, Object expected, Object actual) {
+        if (!Objects.equals(expected, actual)) {
+            throw new IllegalStateException("Parallel " + analysis + "() differs from the sequential result");
+        }
+    }
+
+    @Benchmark
+    public Map<PropertyStatus, List<Property>> groupPropertiesByStatus() {
+        return analyzer.groupPropertiesByStatus();
+    }
+
+    @Benchmark
+    public Map<Boolean, List<Property>> partitionPropertiesByType() {
+        return analyzer.partitionPropertiesByType();
+    }
+
+    @Benchmark
+    public List<Property> filterPropertiesByCondition() {
+        return analyzer.filterPropertiesByCondition(500_000, PropertyStatus.AVAILABLE);
+    }
+
+    @Benchmark
+    public List<Property> sortPropertiesByPriceByScan() {
+        return analyzer.sortPropertiesByPriceByScan();
+    }
+
+    @Benchmark
+    public Optional<Property> findCheapestPropertyByScan() {
+        return analyzer.findCheapestPropertyByScan();
+    }
+
+    @Benchmark
+    public boolean areNoPropertiesBelowPrice() {
+        return analyzer.areNoPropertiesBelowPrice(0);
+    }
+
+    @Benchmark
+    public double calculateTotalPriceConcurrently() {
+        return analyzer.calculateTotalPriceConcurrently();
+    }
+}
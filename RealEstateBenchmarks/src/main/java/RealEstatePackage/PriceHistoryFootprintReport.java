@@ -0,0 +1,68 @@
+package RealEstatePackage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Price history memory and query times for an inventory under frequent repricing: one listing in five is
+// repriced over the year after it is listed, most a few times and some daily. The reported footprint is set
+// against the heap growth of the whole manager, which also churns its price index on every change.
+public class PriceHistoryFootprintReport {
+    private static final int LISTINGS = 1_000_000;
+
+    public static void main(String[] args) {
+        PropertyEvents.setSink(PropertyEventSink.NONE);
+        PropertyManager manager = SyntheticInventory.create(LISTINGS);
+        PropertyAnalyzer analyzer = new PropertyAnalyzer(manager);
+        List<Property> listings = manager.getSnapshot();
+        LocalDateTime start = LocalDateTime.now();
+
+        long before = usedHeap();
+        SplittableRandom random = new SplittableRandom(7);
+        long repricings = 0;
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < LISTINGS; i += 5) {
+            Property property = listings.get(i);
+            int changes = i % 500 == 0 ? 365 : 1 + random.nextInt(12);
+            double price = property.getPrice();
+            for (int change = 0; change < changes; change++) {
+                price = Math.max(1_000, Math.round(price * (0.9 + random.nextDouble() * 0.15)));
+                property.updatePrice(price, start.plusMinutes((long) change * 365 * 24 * 60 / changes
+                        + random.nextInt(60)));
+                repricings++;
+            }
+        }
+        long recordNanos = System.nanoTime() - startNanos;
+        long retained = usedHeap() - before;
+
+        PriceHistoryFootprint footprint = analyzer.summarizePriceHistory();
+        System.out.println(footprint);
+        System.out.printf("Manager heap growth: %d bytes (%.1f bytes/change), histories reported %d%n",
+                retained, (double) retained / repricings, footprint.bytes());
+        System.out.printf("Recording: %.0f ns/change%n", (double) recordNanos / repricings);
+
+        for (int round = 0; round < 5; round++) {
+            long queryStart = System.nanoTime();
+            int drops = analyzer.findPropertiesWithPriceDrop(10, start.plusDays(335)).size();
+            long dropNanos = System.nanoTime() - queryStart;
+            queryStart = System.nanoTime();
+            double sum = 0;
+            LocalDateTime asOf = start.plusDays(200);
+            for (int i = 0; i < LISTINGS; i += 5) {
+                sum += listings.get(i).getPriceAt(asOf).orElse(0);
+            }
+            long asOfNanos = System.nanoTime() - queryStart;
+            System.out.printf("Price drop > 10%% in the last 30 days: %d listings in %d ms; price as of day 200 for %d " +
+                    "repriced listings in %d ms (%.0f ns each, checksum %.0f)%n", drops, dropNanos / 1_000_000,
+                    LISTINGS / 5, asOfNanos / 1_000_000, asOfNanos / (LISTINGS / 5.0), sum);
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,57 @@
+package RealEstatePackage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+@State(Scope.Benchmark)
+public class PropertyAnalyzerBenchmark {
+    @Param({"1000", "100000", "10000000"})
+    int size;
+
+    private PropertyAnalyzer analyzer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Uncached, so every call measures the analysis rather than a cache hit
+        analyzer = new PropertyAnalyzer(SyntheticInventory.create(size), null, 0, 0);
+    }
+
+    @Benchmark
+    public Map<PropertyStatus, List<Property>> groupPropertiesByStatus() {
+        return analyzer.groupPropertiesByStatus();
+    }
+
+    @Benchmark
+    public Map<String, Property> mapPropertiesByAddress() {
+        return analyzer.mapPropertiesByAddress();
+    }
+
+    @Benchmark
+    public List<Property> sortPropertiesByPrice() {
+        return analyzer.sortPropertiesByPrice();
+    }
+
+    @Benchmark
+    public double calculateTotalPriceConcurrently() {
+        return analyzer.calculateTotalPriceConcurrently();
+    }
+}
@@ -0,0 +1,90 @@
+package RealEstatePackage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Price updates per second on a ConcurrentPropertyManager with no journal, a journal that fsyncs before every
+// mutation returns (group commit) and one that fsyncs in the background; then checks that recovery matches
+public class PropertyJournalThroughput {
+    private static final int LISTINGS = 100_000;
+    private static final long RUN_MILLIS = 2_000;
+
+    public static void main(String[] args) throws Exception {
+        PropertyEvents.setSink(PropertyEventSink.NONE);
+        run(null, 4); // JIT warm-up
+        for (int threads : new int[]{1, 4, 16}) {
+            System.out.println(run(null, threads));
+            System.out.println(run(Duration.ZERO, threads));
+            System.out.println(run(Duration.ofMillis(10), threads));
+        }
+    }
+
+    private static String run(Duration flushInterval, int threadCount) throws Exception {
+        Path directory = Files.createTempDirectory("property-journal");
+        try {
+            ConcurrentPropertyManager manager = new ConcurrentPropertyManager(64);
+            PropertyJournal journal = flushInterval == null ? null : PropertyJournal.open(directory, manager,
+                    flushInterval, PropertyJournal.DEFAULT_COMPACTION_THRESHOLD);
+            SyntheticInventory.fill(manager, LISTINGS);
+
+            AtomicBoolean running = new AtomicBoolean(true);
+            AtomicLong operations = new AtomicLong();
+            List<Thread> writers = new ArrayList<>();
+            for (int t = 0; t < threadCount; t++) {
+                int owner = t;
+                writers.add(Thread.ofPlatform().start(() -> {
+                    SplittableRandom random = new SplittableRandom(owner);
+                    long done = 0;
+                    while (running.get()) {
+                        manager.updatePropertyPrice(SyntheticInventory.address(random.nextInt(LISTINGS)),
+                                50_000 + random.nextInt(950_000));
+                        done++;
+                    }
+                    operations.addAndGet(done);
+                }));
+            }
+            Thread.sleep(RUN_MILLIS);
+            running.set(false);
+            for (Thread writer : writers) {
+                writer.join();
+            }
+
+            String mode = flushInterval == null ? "no journal" : flushInterval.isZero()
+                    ? "group commit" : "background flush every " + flushInterval.toMillis() + " ms";
+            String result = String.format("%-32s %2d thread(s): %,10.0f updates/s", mode, threadCount,
+                    operations.get() * 1000.0 / RUN_MILLIS);
+            if (journal != null) {
+                journal.close();
+                ConcurrentPropertyManager recovered = new ConcurrentPropertyManager(64);
+                PropertyJournal.open(directory, recovered).close();
+                for (Property property : manager.getSnapshot()) {
+                    Property restored = recovered.findProperty(property.getFullAddress()).orElse(null);
+                    if (restored == null || restored.getPrice() != property.getPrice()) {
+                        throw new IllegalStateException("Recovery lost the latest price of " + property.getFullAddress());
+                    }
+                }
+                result += ", " + journal.getLastSequence() + " records recovered";
+            }
+            return result;
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
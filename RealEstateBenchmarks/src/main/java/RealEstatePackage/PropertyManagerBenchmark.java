@@ -0,0 +1,93 @@
+package RealEstatePackage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+@State(Scope.Benchmark)
+public class PropertyManagerBenchmark {
+    private static final int SAMPLE_SIZE = 4096;
+
+    @Param({"1000", "100000", "10000000"})
+    int size;
+
+    private PropertyManager manager;
+    // Pre-resolved lookup targets so the measured calls do not pay for building address strings
+    private String[] addresses;
+    private Property[] properties;
+    private double[] minPrices;
+    private int cursor;
+    private PrintStream console;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        console = System.out;
+        manager = SyntheticInventory.create(size);
+        System.setOut(new PrintStream(OutputStream.nullOutputStream())); // Empty price ranges still report to the console
+        SplittableRandom random = new SplittableRandom(7);
+        addresses = new String[SAMPLE_SIZE];
+        properties = new Property[SAMPLE_SIZE];
+        minPrices = new double[SAMPLE_SIZE];
+        List<Property> inventory = manager.getSnapshot();
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            properties[i] = inventory.get(random.nextInt(size));
+            addresses[i] = properties[i].getFullAddress();
+            minPrices[i] = 50_000 + random.nextInt(950_000);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(console);
+    }
+
+    private int next() {
+        return cursor = (cursor + 1) & (SAMPLE_SIZE - 1);
+    }
+
+    @Benchmark
+    public Property searchPropertyByAddress() {
+        return manager.searchProperty(addresses[next()]);
+    }
+
+    @Benchmark
+    public List<Property> searchPropertyByPriceRange() {
+        double minPrice = minPrices[next()];
+        return manager.searchProperty(minPrice, minPrice + 1_000); // ~0.1% of the generated price range
+    }
+
+    @Benchmark
+    public void updatePropertyPrice() {
+        int i = next();
+        manager.updatePropertyPrice(addresses[i], minPrices[i]);
+    }
+
+    // Re-adds the same listing so the inventory size stays constant across invocations
+    @Benchmark
+    public boolean removeAndReAddProperty() {
+        int i = next();
+        manager.removeProperty(addresses[i]);
+        return manager.addProperty(properties[i]);
+    }
+}
@@ -0,0 +1,70 @@
+package RealEstatePackage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// An agent's search (AVAILABLE residential, 3+ bedrooms, 200k-400k, added in the last 30 days, cheapest 20) through
+// PropertyManager.search() against filtering and sorting the snapshot, as callers had to before
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+@State(Scope.Benchmark)
+public class PropertyQueryBenchmark {
+    @Param({"100000", "1000000"})
+    int size;
+
+    private PropertyManager manager;
+    private PropertyQuery firstPage;
+    private PropertyQuery newestFirst;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PropertyEvents.setSink(PropertyEventSink.NONE);
+        manager = SyntheticInventory.create(size);
+        PropertyQuery.Builder agentSearch = PropertyQuery.builder()
+                .status(PropertyStatus.AVAILABLE)
+                .type(PropertyType.RESIDENTIAL)
+                .minBedrooms(3)
+                .price(200_000, 400_000)
+                .addedSince(LocalDateTime.now().minusDays(30));
+        firstPage = agentSearch.orderBy(PropertyQuery.Order.PRICE_ASCENDING).limit(20).build();
+        newestFirst = agentSearch.orderBy(PropertyQuery.Order.NEWEST_FIRST).limit(20).build();
+        System.out.println("\n" + manager.explain(firstPage).explain());
+        System.out.println(manager.explain(newestFirst).explain());
+    }
+
+    @Benchmark
+    public List<Property> searchFirstPage() {
+        return manager.search(firstPage);
+    }
+
+    @Benchmark
+    public List<Property> scanFirstPage() {
+        return manager.getSnapshot().stream()
+                .filter(firstPage::matches)
+                .sorted(firstPage.comparator())
+                .limit(20)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Property> searchNewestFirst() {
+        return manager.search(newestFirst);
+    }
+}
@@ -0,0 +1,56 @@
+package RealEstatePackage;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+// Time and old-generation growth of exporting the inventory as text: every line collected and then written, as
+// savePropertiesToFile() used to, against the streaming PropertyReportWriter, plain and gzipped. Short-lived
+// garbage dies young, so old-generation growth approximates what an export keeps alive; run with
+// -XX:+UseSerialGC, whose tenured pool is the only one named as old.
+public class ReportExportThroughput {
+    private static final int LISTINGS = 1_000_000;
+
+    interface Export {
+        void run(PropertyAnalyzer analyzer, Path path) throws IOException;
+    }
+
+    public static void main(String[] args) throws IOException {
+        PropertyEvents.setSink(PropertyEventSink.NONE);
+        PropertyManager manager = SyntheticInventory.create(LISTINGS);
+        PropertyAnalyzer analyzer = new PropertyAnalyzer(manager);
+        Path directory = Files.createTempDirectory("report-export");
+        Export collected = (_, path) -> Files.write(path, manager.getSnapshot().stream()
+                .map(Property::getFullDetails)
+                .toList());
+        Export streamed = (exporter, path) -> exporter.savePropertiesToFile(path.toString(), false);
+        Export gzipped = (exporter, path) -> exporter.savePropertiesToFile(path.toString(), true);
+        for (int round = 0; round < 3; round++) {
+            measure("collect then write", collected, analyzer, directory.resolve("collected.txt"));
+            measure("streamed", streamed, analyzer, directory.resolve("streamed.txt"));
+            measure("streamed, gzip", gzipped, analyzer, directory.resolve("streamed.txt.gz"));
+        }
+        if (Files.mismatch(directory.resolve("collected.txt"), directory.resolve("streamed.txt")) != -1) {
+            throw new IllegalStateException("Streamed export differs from the collected one");
+        }
+    }
+
+    private static void measure(String name, Export export, PropertyAnalyzer analyzer, Path path) throws IOException {
+        List<MemoryPoolMXBean> heap = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.getName().contains("Tenured"))
+                .toList();
+        System.gc();
+        long before = heap.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+        heap.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long start = System.nanoTime();
+        export.run(analyzer, path);
+        long elapsed = System.nanoTime() - start;
+        long peak = heap.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        System.out.printf("%-20s %6d ms  %8.1f MB file  old gen +%6.1f MB%n", name, elapsed / 1_000_000,
+                Files.size(path) / 1e6, (peak - before) / 1e6);
+    }
+}
@@ -0,0 +1,42 @@
+package RealEstatePackage;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Measures bytes allocated by a dashboard refresh reading getProperties() copies versus the shared getSnapshot()
+public class SnapshotAllocationBenchmark {
+    private static final int QUERIES_PER_REFRESH = 20;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        PropertyManager manager = SyntheticInventory.create(size);
+
+        for (int warmup = 0; warmup < 5; warmup++) {
+            refresh(manager::getProperties);
+            refresh(manager::getSnapshot);
+        }
+        long copyBytes = allocatedBy(() -> refresh(manager::getProperties));
+        long snapshotBytes = allocatedBy(() -> refresh(manager::getSnapshot));
+
+        System.out.printf("Listings: %,d, queries per refresh: %d%n", size, QUERIES_PER_REFRESH);
+        System.out.printf("getProperties(): %,d bytes per refresh%n", copyBytes);
+        System.out.printf("getSnapshot():   %,d bytes per refresh%n", snapshotBytes);
+        System.out.printf("Saved:           %,d bytes per refresh%n", copyBytes - snapshotBytes);
+    }
+
+    private static long refresh(Supplier<List<Property>> source) {
+        long sizes = 0;
+        for (int i = 0; i < QUERIES_PER_REFRESH; i++) {
+            sizes += source.get().size();
+        }
+        return sizes;
+    }
+
+    private static long allocatedBy(Runnable action) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        action.run();
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+}
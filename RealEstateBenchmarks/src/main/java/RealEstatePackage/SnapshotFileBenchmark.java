@@ -0,0 +1,81 @@
+package RealEstatePackage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Whole-inventory save and restore: the binary columnar snapshot against the getFullDetails() text dump,
+// and time to first lookup when the snapshot is mapped instead of loaded
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+@State(Scope.Benchmark)
+public class SnapshotFileBenchmark {
+    @Param({"100000", "1000000", "10000000"})
+    int size;
+
+    private PropertyAnalyzer analyzer;
+    private Path snapshotFile;
+    private Path textFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        analyzer = new PropertyAnalyzer(SyntheticInventory.create(size));
+        snapshotFile = Files.createTempFile("inventory", ".snapshot");
+        textFile = Files.createTempFile("inventory", ".txt");
+        analyzer.saveSnapshotToFile(snapshotFile.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshotFile);
+        Files.deleteIfExists(textFile);
+    }
+
+    @Benchmark
+    public void writeTextDump() throws IOException {
+        analyzer.savePropertiesToFile(textFile.toString());
+    }
+
+    @Benchmark
+    public void writeBinarySnapshot() throws IOException {
+        analyzer.saveSnapshotToFile(snapshotFile.toString());
+    }
+
+    @Benchmark
+    public List<Property> readBinarySnapshot() throws IOException {
+        return PropertySnapshotFile.read(snapshotFile);
+    }
+
+    @Benchmark
+    public PropertyManager loadBinarySnapshot() throws IOException {
+        PropertyManager manager = new PropertyManager();
+        PropertySnapshotFile.load(snapshotFile, manager);
+        return manager;
+    }
+
+    @Benchmark
+    public Property openMappedCatalogAndFind() throws IOException {
+        try (MappedPropertyCatalog catalog = MappedPropertyCatalog.open(snapshotFile)) {
+            return catalog.findProperty(SyntheticInventory.address(size / 2)).orElseThrow();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package RealEstatePackage;
+
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+// Retained heap per listing for object storage and PropertyColumns, for the listings alone and for whole managers
+public class StorageFootprint {
+    private static final int LISTINGS = 1_000_000;
+
+    public static void main(String[] args) {
+        PropertyEvents.setSink(PropertyEventSink.NONE);
+        System.out.printf("Listings, object storage:         %6.1f bytes/listing%n", measure(() -> listings(null)));
+        System.out.printf("Listings, columnar storage:       %6.1f bytes/listing%n", measure(() -> listings(new PropertyColumns())));
+        System.out.printf("PropertyManager with indexes:     %6.1f bytes/listing%n",
+                measure(() -> SyntheticInventory.fill(new PropertyManager(), LISTINGS)));
+        System.out.printf("ColumnarPropertyManager:          %6.1f bytes/listing%n",
+                measure(() -> SyntheticInventory.fill(new ColumnarPropertyManager(), LISTINGS)));
+    }
+
+    private static List<Property> listings(PropertyColumns columns) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Property> listings = new ArrayList<>(LISTINGS);
+        for (int i = 0; i < LISTINGS; i++) {
+            Property property = SyntheticInventory.property(i, random);
+            if (columns != null) {
+                property.moveTo(columns);
+            }
+            listings.add(property);
+        }
+        return listings;
+    }
+
+    private static double measure(Supplier<Object> build) {
+        long before = usedHeap();
+        Object retained = build.get();
+        long after = usedHeap();
+        Reference.reachabilityFence(retained);
+        return (after - before) / (double) LISTINGS;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
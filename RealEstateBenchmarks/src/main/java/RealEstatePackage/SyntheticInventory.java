@@ -0,0 +1,38 @@
+package RealEstatePackage;
+
+import java.util.SplittableRandom;
+
+// Builds reproducible inventories of generated listings for benchmarks
+final class SyntheticInventory {
+    private static final String[] BUSINESS_TYPES = {"Retail", "Office", "Warehouse", "Industrial"};
+
+    private SyntheticInventory() {
+    }
+
+    static String address(int index) {
+        return index + " Synthetic St";
+    }
+
+    static Property property(int index, SplittableRandom random) {
+        double price = 50_000 + random.nextInt(950_000);
+        Property property = index % 3 == 0
+                ? new CommercialProperty(address(index), price, BUSINESS_TYPES[index % BUSINESS_TYPES.length])
+                : new ResidentialProperty(address(index), price, 1 + random.nextInt(6));
+        if (index % 4 == 0) {
+            property.updateStatus(PropertyStatus.SOLD);
+        }
+        return property;
+    }
+
+    static PropertyManager create(int size) {
+        return fill(new PropertyManager(), size);
+    }
+
+    static <M extends PropertyManager> M fill(M manager, int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < size; i++) {
+            manager.addProperty(property(i, random));
+        }
+        return manager;
+    }
+}
@@ -0,0 +1,73 @@
+package RealEstatePackage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// A 20-row screen of the cheapest listings: the old full sort, the bounded heap, the price index, and the
+// page after a cursor in the middle of the inventory
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+@State(Scope.Benchmark)
+public class TopKBenchmark {
+    private static final int ROWS = 20;
+
+    @Param({"100000", "1000000"})
+    int size;
+
+    private PropertyManager manager;
+    private PropertyAnalyzer analyzer;
+    private PriceCursor middle;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PropertyEvents.setSink(PropertyEventSink.NONE);
+        manager = SyntheticInventory.create(size);
+        analyzer = new PropertyAnalyzer(manager, null, 0, 0);
+        middle = PriceCursor.of(manager.getPropertiesSortedByPrice().get(size / 2));
+    }
+
+    @Benchmark
+    public List<String> fullSortThenLimit() {
+        return manager.getSnapshot().stream()
+                .sorted((p1, p2) -> Double.compare(p1.getPrice(), p2.getPrice()))
+                .limit(ROWS)
+                .map(Property::getFullAddress)
+                .toList();
+    }
+
+    @Benchmark
+    public List<String> limitedAddressesByPrice() {
+        return analyzer.getLimitedDistinctAddressesByPrice(ROWS);
+    }
+
+    @Benchmark
+    public List<Property> sortedListFirstRows() {
+        return analyzer.sortPropertiesByPrice().subList(0, ROWS);
+    }
+
+    @Benchmark
+    public List<Property> cheapestProperties() {
+        return analyzer.findCheapestProperties(ROWS);
+    }
+
+    @Benchmark
+    public PropertyPage pageAfterCursor() {
+        return manager.getPropertiesByPrice(middle, ROWS);
+    }
+}